@@ -1,8 +1,16 @@
 package ph.rye.common;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.function.Function;
 
 /**
+ * Wraps checked exceptions into the application's runtime exception type.
+ * The constructor of the type is compiled into a factory once, when the type
+ * is set, and published through a volatile field.
+ *
  * @author royce
  *
  */
@@ -12,33 +20,135 @@ public class CommonException extends RuntimeException {
     /** */
     private static final long serialVersionUID = 1L;
 
+    /** The (Throwable) constructor. */
+    private static final MethodType WRAPPER_TYPE =
+            MethodType.methodType(RuntimeException.class, Throwable.class);
+
+    /** The (String, Throwable, boolean, boolean) constructor. */
+    private static final MethodType STACKLESS_TYPE = MethodType.methodType(
+        RuntimeException.class,
+        String.class,
+        Throwable.class,
+        Boolean.TYPE,
+        Boolean.TYPE);
+
 
-    private static Class<? extends RuntimeException> appException =
-            RuntimeException.class;
+    private static volatile Function<Throwable, RuntimeException> factory =
+            compile(RuntimeException.class, false);
 
 
     CommonException(final Throwable throwable) {
         super(throwable);
     }
 
+    /** Without a stack trace, the cause already has one. */
+    private CommonException(final Throwable throwable,
+                            final boolean writableStackTrace) {
+        super(message(throwable), throwable, true, writableStackTrace);
+    }
+
 
     public static <E extends RuntimeException> void setAppException(final Class<E> exception) {
-        appException = exception;
+        setAppException(exception, false);
+    }
+
+    /**
+     * @param exception type with a constructor taking the cause.
+     * @param stackless true to create wrappers without filling in their stack
+     *            trace, through the (String, Throwable, boolean, boolean)
+     *            constructor. When the type has no accessible one, wrappers
+     *            are a stackless CommonException if that fits the type,
+     *            otherwise they get a stack trace.
+     * @throws CommonException when the type has no constructor taking the
+     *             cause.
+     */
+    public static <E extends RuntimeException> void setAppException(
+            final Class<E> exception, final boolean stackless) {
+        assert exception != null;
+
+        factory = compile(exception, stackless);
+    }
+
+    /**
+     * @param wrapper creates the wrapper of a cause, replaces the exception
+     *            type set. Not null.
+     */
+    public static void setFactory(
+            final Function<Throwable, RuntimeException> wrapper) {
+        assert wrapper != null;
+
+        factory = wrapper;
     }
 
     public static RuntimeException wrapperException(final Throwable throwable) {
+        return factory.apply(throwable);
+    }
+
+    private static Function<Throwable, RuntimeException> compile(
+            final Class<? extends RuntimeException> exception,
+            final boolean stackless) {
+        Function<Throwable, RuntimeException> retval;
+
+        final MethodHandle stacklessHandle =
+                stackless ? constructor(exception, STACKLESS_TYPE) : null;
+        if (stacklessHandle != null) {
+            retval = throwable -> {
+                try {
+                    return (RuntimeException) stacklessHandle.invokeExact(
+                        message(throwable),
+                        throwable,
+                        true,
+                        false);
+                } catch (final Throwable e) { //NOPMD invokeExact throws it.
+                    throw new CommonException(e);
+                }
+            };
+        } else if (stackless
+                && exception.isAssignableFrom(CommonException.class)) {
+            retval = throwable -> new CommonException(throwable, false);
+        } else {
+            final MethodHandle handle = constructor(exception, WRAPPER_TYPE);
+            if (handle == null) {
+                throw new CommonException(
+                    new NoSuchMethodException(
+                        exception.getName() + ".<init>(java.lang.Throwable)"));
+            }
+            retval = throwable -> {
+                try {
+                    return (RuntimeException) handle.invokeExact(throwable);
+                } catch (final Throwable e) { //NOPMD invokeExact throws it.
+                    throw new CommonException(e);
+                }
+            };
+        }
+        return retval;
+    }
+
+    /**
+     * @param signature constructor parameters, returning RuntimeException.
+     * @return null when there is no such accessible constructor.
+     */
+    private static MethodHandle constructor(final Class<?> exception,
+                                            final MethodType signature) {
+        MethodHandle retval = null; //NOPMD: null default, conditionally redefine.
         try {
-            return appException
-                .getDeclaredConstructor(new Class[] {
-                        Throwable.class })
-                .newInstance(new Object[] {
-                        throwable });
-        } catch (InstantiationException | IllegalAccessException
-                | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
-            throw new CommonException(e);
+            final Constructor<?> constructor = exception
+                .getDeclaredConstructor(signature.parameterArray());
+            if (constructor.trySetAccessible()) {
+                retval = MethodHandles
+                    .lookup()
+                    .unreflectConstructor(constructor)
+                    .asType(signature);
+            }
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            retval = null;
         }
+        return retval;
     }
 
+    /** Message of a wrapper, like the Throwable(Throwable) constructor. */
+    private static String message(final Throwable throwable) {
+        return throwable == null ? null : throwable.toString();
+    }
 
 }
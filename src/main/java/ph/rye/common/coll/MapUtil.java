@@ -28,7 +28,9 @@ public final class MapUtil {
 
 
     /**
-     * Merges map contents
+     * Merges map contents, entries of the source replace those of the
+     * destination with the same key. Done in bulk, without a lookup per key
+     * in the source, and letting a hash map size itself once.
      *
      * @param dest destination map.
      * @param source source map.
@@ -36,11 +38,10 @@ public final class MapUtil {
      * @param <K> the type of keys maintained by this map
      * @param <V> the type of mapped values
      */
-    public static <K, V> void merge(final Map<K, V> dest,
-                                    final Map<K, V> source) {
-        for (final K key : source.keySet()) {
-            dest.put(key, source.get(key));
-        }
+    public static <K, V> void merge(
+            final Map<K, V> dest,
+            final Map<? extends K, ? extends V> source) {
+        dest.putAll(source);
     }
 
 }
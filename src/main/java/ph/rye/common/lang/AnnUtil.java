@@ -16,8 +16,15 @@
 package ph.rye.common.lang;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 
 /**
+ * Annotation lookups backed by a per class index, computed once per class.
+ * An annotation is present when it is on the element, inherited through
+ * {@link java.lang.annotation.Inherited}, or found on the type of a present
+ * annotation.
+ *
  * @author royce
  *
  */
@@ -44,14 +51,49 @@ public final class AnnUtil {
      * @param <A>
      * @param klass
      * @param annotation
-     * @return
+     * @return the annotation, or the meta annotation when only present on
+     *         the type of another annotation. null when absent.
      */
     public static <A extends Annotation> A getAnnotation(final Class<?> klass,
                                                          final Class<A> annotation) {
         assert klass != null;
         assert annotation != null;
 
-        return klass.getAnnotation(annotation);
+        return ClassAnnotations.of(klass).getAnnotation(annotation);
+    }
+
+    /**
+     * Fields of the class and its superclasses with the annotation present.
+     *
+     * @param klass class to search. Not null.
+     * @param annotation annotation type. Not null.
+     * @return precomputed array shared between callers, must not be modified.
+     *         The class's own fields first, empty when none.
+     */
+    public static Field[] getAnnotatedFields(final Class<?> klass,
+                                             final Class<? extends Annotation> annotation) {
+        assert klass != null;
+        assert annotation != null;
+
+        return ClassAnnotations.of(klass).getFields(annotation);
+    }
+
+    /**
+     * Methods of the class and its superclasses with the annotation present.
+     * An override hides the method it overrides, annotations on the
+     * overridden method are not inherited.
+     *
+     * @param klass class to search. Not null.
+     * @param annotation annotation type. Not null.
+     * @return precomputed array shared between callers, must not be modified.
+     *         The class's own methods first, empty when none.
+     */
+    public static Method[] getAnnotatedMethods(final Class<?> klass,
+                                               final Class<? extends Annotation> annotation) {
+        assert klass != null;
+        assert annotation != null;
+
+        return ClassAnnotations.of(klass).getMethods(annotation);
     }
 
 }
@@ -0,0 +1,358 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import ph.rye.common.lang.ClassFileReader.ClassInfo;
+
+/**
+ * Which classes carry which annotations, found by reading class files from
+ * jars and directories without loading them. Presence follows
+ * {@link AnnUtil}: declared, inherited through {@link Inherited} and meta
+ * annotations, as far as the annotation types are among the scanned classes.
+ *
+ * Scan at build time or on first run and {@link #write(Path)} the result,
+ * then {@link #read(Path)} it on startup instead of loading classes to
+ * inspect them.
+ *
+ * <pre>
+ * final AnnotationIndex index = AnnotationIndex.read(indexFile);
+ * for (final String name : index.getClassNames(Plugin.class)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author royce
+ */
+public final class AnnotationIndex {
+
+
+    /** "AIDX", first bytes of an index file. */
+    private static final int MAGIC = 0x41494458;
+
+    private static final int VERSION = 1;
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private static final String META_PACKAGE = "java.lang.annotation.";
+
+
+    /** Class names by annotation name, sorted. */
+    private final transient Map<String, List<String>> classNames;
+
+
+    private AnnotationIndex(final Map<String, List<String>> classNames) {
+        this.classNames = Collections.unmodifiableMap(classNames);
+    }
+
+
+    /**
+     * Scans jars and class directories. When a class is found more than once,
+     * the first root wins, like on a classpath.
+     *
+     * @param roots jar files or directories of class files. Not null.
+     * @param annotations binary names of the annotations to record, empty to
+     *            record all. Not null.
+     * @throws IOException when a root cannot be read, or has a malformed
+     *             class file.
+     */
+    public static AnnotationIndex scan(final Collection<Path> roots,
+                                       final Set<String> annotations)
+            throws IOException {
+        assert roots != null;
+        assert annotations != null;
+
+        final Map<String, ClassInfo> classes = new HashMap<>();
+        for (final Path root : roots) {
+            if (Files.isDirectory(root)) {
+                scanDirectory(root, classes);
+            } else {
+                scanJar(root, classes);
+            }
+        }
+
+        final Map<String, List<String>> retval = new TreeMap<>();
+        final Map<String, Set<String>> inherited = new HashMap<>();
+        for (final ClassInfo next : classes.values()) {
+            for (final String annotation : present(next, classes, inherited)) {
+                if (annotations.isEmpty() || annotations.contains(annotation)) {
+                    retval
+                        .computeIfAbsent(annotation, k -> new ArrayList<>())
+                        .add(next.getClassName());
+                }
+            }
+        }
+        for (final List<String> names : retval.values()) {
+            Collections.sort(names);
+        }
+        return new AnnotationIndex(retval);
+    }
+
+    /**
+     * @param file index written by {@link #write(Path)}.
+     * @throws IOException when the file cannot be read or is not an index.
+     */
+    public static AnnotationIndex read(final Path file) throws IOException {
+        assert file != null;
+
+        final long limit = Files.size(file);
+        try (DataInputStream input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new IOException("Not an annotation index: " + file);
+            }
+
+            final String[] strings = new String[readCount(input, limit, file)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = input.readUTF();
+            }
+
+            final int count = readCount(input, limit, file);
+            final Map<String, List<String>> classNames = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                final String annotation = readString(input, strings, file);
+                final String[] names =
+                        new String[readCount(input, limit, file)];
+                for (int j = 0; j < names.length; j++) {
+                    names[j] = readString(input, strings, file);
+                }
+                classNames.put(annotation, List.of(names));
+            }
+            return new AnnotationIndex(classNames);
+        }
+    }
+
+    /**
+     * @param limit size of the file, no count can exceed it as every entry
+     *            takes at least a byte.
+     */
+    private static int readCount(final DataInputStream input,
+                                 final long limit, final Path file)
+            throws IOException {
+        final int retval = input.readInt();
+        if (retval < 0 || retval > limit) {
+            throw new IOException("Corrupt annotation index: " + file);
+        }
+        return retval;
+    }
+
+    private static String readString(final DataInputStream input,
+                                     final String[] strings, final Path file)
+            throws IOException {
+        final int index = input.readInt();
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("Corrupt annotation index: " + file);
+        }
+        return strings[index];
+    }
+
+    /**
+     * Writes the index, each name stored once and referenced by number.
+     *
+     * @param file created or replaced.
+     */
+    public void write(final Path file) throws IOException {
+        assert file != null;
+
+        final Map<String, Integer> numbers = new HashMap<>();
+        final List<String> strings = new ArrayList<>();
+        for (final Map.Entry<String, List<String>> entry : classNames
+            .entrySet()) {
+            number(entry.getKey(), numbers, strings);
+            for (final String name : entry.getValue()) {
+                number(name, numbers, strings);
+            }
+        }
+
+        try (DataOutputStream output = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(strings.size());
+            for (final String string : strings) {
+                output.writeUTF(string);
+            }
+
+            output.writeInt(classNames.size());
+            for (final Map.Entry<String, List<String>> entry : classNames
+                .entrySet()) {
+                output.writeInt(numbers.get(entry.getKey()));
+                output.writeInt(entry.getValue().size());
+                for (final String name : entry.getValue()) {
+                    output.writeInt(numbers.get(name));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param annotation binary name of the annotation.
+     * @return sorted binary names of the classes carrying it, empty when
+     *         none or not recorded.
+     */
+    public List<String> getClassNames(final String annotation) {
+        return classNames.getOrDefault(annotation, Collections.emptyList());
+    }
+
+    /** @see #getClassNames(String) */
+    public List<String> getClassNames(
+            final Class<? extends Annotation> annotation) {
+        return getClassNames(annotation.getName());
+    }
+
+    /** @return binary names of the annotations carried by any class. */
+    public Set<String> getAnnotationNames() {
+        return classNames.keySet();
+    }
+
+    private static void number(final String string,
+                               final Map<String, Integer> numbers,
+                               final List<String> strings) {
+        if (!numbers.containsKey(string)) {
+            numbers.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+
+    private static void scanDirectory(
+            final Path root,
+            final Map<String, ClassInfo> classes)
+            throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (final Path path : (Iterable<Path>) paths::iterator) {
+                if (isClassFile(path.getFileName().toString())
+                        && Files.isRegularFile(path)) {
+                    add(Files.readAllBytes(path), classes);
+                }
+            }
+        }
+    }
+
+    private static void scanJar(
+            final Path jar,
+            final Map<String, ClassInfo> classes)
+            throws IOException {
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && isClassFile(entry.getName())
+                        && !entry.getName().startsWith("META-INF/")) {
+                    try (InputStream input = zip.getInputStream(entry)) {
+                        add(input.readAllBytes(), classes);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Module and package descriptors carry no class annotations. */
+    private static boolean isClassFile(final String name) {
+        return name.endsWith(CLASS_SUFFIX)
+                && !name.endsWith("module-info.class")
+                && !name.endsWith("package-info.class");
+    }
+
+    private static void add(final byte[] classFile,
+                            final Map<String, ClassInfo> classes)
+            throws IOException {
+        final ClassInfo info = ClassFileReader.read(classFile);
+        classes.putIfAbsent(info.getClassName(), info);
+    }
+
+    /**
+     * @return annotations of the class as the JVM reports them, then the
+     *         ones on their types, breadth first.
+     */
+    private static Set<String> present(
+            final ClassInfo type,
+            final Map<String, ClassInfo> classes,
+            final Map<String, Set<String>> inherited) {
+        final Set<String> retval = new LinkedHashSet<>();
+        final Queue<String> pending = new ArrayDeque<>(type.getAnnotations());
+        pending.addAll(inherited(type.getSuperName(), classes, inherited));
+        while (!pending.isEmpty()) {
+            final String next = pending.remove();
+            if (!next.startsWith(META_PACKAGE) && retval.add(next)) {
+                final ClassInfo annotation = classes.get(next);
+                if (annotation != null) {
+                    pending.addAll(annotation.getAnnotations());
+                }
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * @return annotations a subclass inherits from the class, memoized.
+     */
+    private static Set<String> inherited(
+            final String className,
+            final Map<String, ClassInfo> classes,
+            final Map<String, Set<String>> memo) {
+        final ClassInfo type =
+                className == null ? null : classes.get(className);
+        Set<String> retval = Collections.emptySet();
+        if (type != null) {
+            retval = memo.get(className);
+            if (retval == null) {
+                retval = new LinkedHashSet<>();
+                for (final String annotation : type.getAnnotations()) {
+                    if (isInherited(annotation, classes)) {
+                        retval.add(annotation);
+                    }
+                }
+                retval.addAll(inherited(type.getSuperName(), classes, memo));
+                memo.put(className, retval);
+            }
+        }
+        return retval;
+    }
+
+    private static boolean isInherited(
+            final String annotation,
+            final Map<String, ClassInfo> classes) {
+        final ClassInfo type = classes.get(annotation);
+        return type != null
+                && type.getAnnotations().contains(Inherited.class.getName());
+    }
+
+}
@@ -21,6 +21,9 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import ph.rye.common.CommonException;
 
@@ -34,32 +37,149 @@ public final class BeanUtil {
     private BeanUtil() {}
 
     /**
-     * Retrieves a property value of the bean. Note: This will work only when a
-     * public getter method is available for the property.
+     * Retrieves a property value of the bean through its getX, or for boolean
+     * properties isX, method. The getter is looked up and compiled once per
+     * bean class and property, repeat calls cost about a direct call.
      *
      * @param bean instance where we want to get the property value from. Not
      *            null.
      * @param property property name of the bean we want to get the property
      *            value from.
-     * @return null when the property could not be retrieved.
-     * @throws NoSuchMethodException
-     * @throws IllegalArgumentException when the bean is null or the property is
-     *             not valid;
+     * @return the property value.
+     * @throws NoSuchMethodException when the bean has no getter for the
+     *             property.
+     * @throws RuntimeException wrapping an InvocationTargetException when the
+     *             getter fails. See CommonException.wrapperException.
      */
     public static Object getProperty(final Object bean, final String property)
             throws NoSuchMethodException {
 
         assert bean != null;
+        assert ObjectUtil.hasValue(property);
+
+        final Function<Object, Object> getter =
+                PropertyAccessors.getter(bean.getClass(), property);
+        try {
+            return getter.apply(bean);
+        } catch (final Exception e) { //NOPMD Getter exceptions are rethrown.
+            throw CommonException
+                .wrapperException(new InvocationTargetException(e));
+        }
+    }
+
+    /**
+     * Like {@link #getProperty(Object, String)}, for callers where a missing
+     * getter is expected. Nothing is thrown when there is none.
+     *
+     * @param bean instance to read from. Not null.
+     * @param property property name. Not empty.
+     * @return the property value, empty when the bean has no getter for the
+     *         property or the value is null.
+     * @throws RuntimeException wrapping an InvocationTargetException when the
+     *             getter fails. See CommonException.wrapperException.
+     */
+    public static Optional<Object> findProperty(final Object bean,
+                                                final String property) {
+        assert bean != null;
+        assert ObjectUtil.hasValue(property);
+
+        final Function<Object, Object> getter =
+                PropertyAccessors.findCompiledGetter(bean.getClass(), property);
+        Optional<Object> retval = Optional.empty();
+        if (getter != null) {
+            try {
+                retval = Optional.ofNullable(getter.apply(bean));
+            } catch (final Exception e) { //NOPMD Rethrown.
+                throw CommonException
+                    .wrapperException(new InvocationTargetException(e));
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * Sets a property value of the bean through its setX method. The setter is
+     * looked up and compiled once per bean class and property.
+     *
+     * @param bean instance where we want to set the property value. Not null.
+     * @param property property name. Not empty.
+     * @param value new value. Unboxed for primitive properties, not null then.
+     * @throws NoSuchMethodException when the bean has no setter for the
+     *             property.
+     * @throws RuntimeException wrapping an InvocationTargetException when the
+     *             setter fails, or the value does not fit. See
+     *             CommonException.wrapperException.
+     */
+    public static void setProperty(final Object bean, final String property,
+                                   final Object value)
+            throws NoSuchMethodException {
+
+        assert bean != null;
+        assert ObjectUtil.hasValue(property);
+
+        final BiConsumer<Object, Object> setter =
+                PropertyAccessors.setter(bean.getClass(), property);
+        try {
+            setter.accept(bean, value);
+        } catch (final Exception e) { //NOPMD Setter exceptions are rethrown.
+            throw CommonException
+                .wrapperException(new InvocationTargetException(e));
+        }
+    }
+
+    /**
+     * Like {@link #setProperty(Object, String, Object)}, for callers where a
+     * missing setter is expected. Nothing is thrown when there is none.
+     *
+     * @param bean instance where we want to set the property value. Not null.
+     * @param property property name. Not empty.
+     * @param value new value. Unboxed for primitive properties, not null then.
+     * @return false when the bean has no setter for the property.
+     * @throws RuntimeException wrapping an InvocationTargetException when the
+     *             setter fails, or the value does not fit. See
+     *             CommonException.wrapperException.
+     */
+    public static boolean trySetProperty(final Object bean,
+                                         final String property,
+                                         final Object value) {
+        assert bean != null;
+        assert ObjectUtil.hasValue(property);
 
-        final String getterMethod = getGetterMethodName(property);
+        final BiConsumer<Object, Object> setter =
+                PropertyAccessors.findCompiledSetter(bean.getClass(), property);
+        if (setter != null) {
+            try {
+                setter.accept(bean, value);
+            } catch (final Exception e) { //NOPMD Rethrown.
+                throw CommonException
+                    .wrapperException(new InvocationTargetException(e));
+            }
+        }
+        return setter != null;
+    }
+
+    /**
+     * Copies every property the source can read and the target can write,
+     * where the value type fits without narrowing or unboxing. The two beans
+     * may be of different classes. The copy is compiled once per pair of
+     * classes, primitive values are copied without boxing.
+     *
+     * @param source bean to read from. Not null.
+     * @param target bean to write to. Not null.
+     * @throws RuntimeException wrapping an InvocationTargetException when an
+     *             accessor fails. See CommonException.wrapperException.
+     */
+    public static void copyProperties(final Object source,
+                                      final Object target) {
+        assert source != null;
+        assert target != null;
 
+        final CopyPlan plan = CopyPlan.of(source.getClass(), target.getClass());
         try {
-            return ReflectUtil
-                .invokeMethod(bean, getterMethod, new Class[0], new Object[0]);
-        } catch (final InvocationTargetException e) {
-            throw CommonException.wrapperException(e);
-        } catch (final IllegalArgumentException e) {
-            throw CommonException.wrapperException(e);
+            plan.copy(source, target);
+        } catch (final Exception e) { //NOPMD Accessor exceptions are rethrown.
+            throw CommonException
+                .wrapperException(new InvocationTargetException(e));
         }
     }
 
@@ -115,7 +235,8 @@ public final class BeanUtil {
         exemptList.add("class");
 
         final List<String> fields = new ArrayList<String>();
-        for (final Field nextField : ReflectUtil.getAllFields(bean)) {
+        for (final Field nextField : ReflectUtil
+            .getFieldList(bean.getClass())) {
             final String property = nextField.getName();
             if (exemptList.contains(property)
                     || Modifier.isStatic(nextField.getModifiers())) {
@@ -140,14 +261,29 @@ public final class BeanUtil {
         assert bean != null;
         assert ObjectUtil.hasValue(property);
 
-        try {
-            return ReflectUtil.findField(bean, property).getType();
-        } catch (final NoSuchFieldException e) {
-            throw CommonException.wrapperException(
-                new IllegalArgumentException(
-                    "Invalid Property: " + property,
-                    e));
-        }
+        return findPropertyType(bean, property)
+            .orElseThrow(
+                () -> CommonException.wrapperException(
+                    new IllegalArgumentException(
+                        "Invalid Property: " + property)));
+    }
+
+    /**
+     * Retrieves the type of the bean property, for callers where a missing
+     * property is expected.
+     *
+     * @param bean bean instance whose property type we are getting. Must not be
+     *            null.
+     * @param property bean property whose type we are getting.
+     * @return empty when the bean has no such field.
+     */
+    public static Optional<Class<?>> findPropertyType(final Object bean,
+                                                      final String property) {
+        assert bean != null;
+        assert ObjectUtil.hasValue(property);
+
+        return ReflectUtil.lookupField(bean.getClass(), property)
+            .map(Field::getType);
     }
 
 
@@ -0,0 +1,181 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Annotation index of a class, computed once per class. Covers the
+ * annotations present on the class, including inherited ones, and those on
+ * its fields and methods along the class hierarchy. Annotations found on
+ * annotation types count as present too, so a stereotype annotated with X
+ * marks its users as X.
+ *
+ * Held in a ClassValue, like {@link ClassFields}.
+ *
+ * @author royce
+ */
+final class ClassAnnotations {
+
+
+    private static final ClassValue<ClassAnnotations> CACHE =
+            new ClassValue<>() {
+                @Override
+                protected ClassAnnotations computeValue(final Class<?> type) {
+                    return new ClassAnnotations(type);
+                }
+            };
+
+    static final Field[] NO_FIELDS = {};
+
+    static final Method[] NO_METHODS = {};
+
+    /** Meta annotations like Retention and Target are not indexed. */
+    private static final String META_PACKAGE = "java.lang.annotation.";
+
+
+    private final transient Map<Class<?>, Annotation> annotations;
+    private final transient Map<Class<?>, Field[]> fields;
+    private final transient Map<Class<?>, Method[]> methods;
+
+
+    private ClassAnnotations(final Class<?> type) {
+        annotations = present(type);
+
+        final Map<Class<?>, List<Field>> fieldIndex = new HashMap<>();
+        for (final Field field : ClassFields.of(type).getFields()) {
+            index(fieldIndex, field);
+        }
+        fields = toArrays(fieldIndex, NO_FIELDS);
+
+        final Map<Class<?>, List<Method>> methodIndex = new HashMap<>();
+        for (final Method method : methods(type)) {
+            index(methodIndex, method);
+        }
+        methods = toArrays(methodIndex, NO_METHODS);
+    }
+
+
+    static ClassAnnotations of(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /** @return the annotation when present or meta present, else null. */
+    <A extends Annotation> A getAnnotation(final Class<A> annotation) {
+        return annotation.cast(annotations.get(annotation));
+    }
+
+    /** @return shared array of the annotated fields, the class's own first. */
+    Field[] getFields(final Class<? extends Annotation> annotation) {
+        return fields.getOrDefault(annotation, NO_FIELDS);
+    }
+
+    /** @return shared array of the annotated methods, the class's own first. */
+    Method[] getMethods(final Class<? extends Annotation> annotation) {
+        return methods.getOrDefault(annotation, NO_METHODS);
+    }
+
+    /**
+     * @return annotations present on the element, then the ones on their
+     *         types breadth first. The first one of a type wins.
+     */
+    private static Map<Class<?>, Annotation> present(
+            final AnnotatedElement element) {
+        final Map<Class<?>, Annotation> retval = new LinkedHashMap<>();
+        final Queue<Annotation> pending =
+                new ArrayDeque<>(Arrays.asList(element.getAnnotations()));
+        while (!pending.isEmpty()) {
+            final Annotation next = pending.remove();
+            final Class<?> type = next.annotationType();
+            if (!retval.containsKey(type)
+                    && !type.getName().startsWith(META_PACKAGE)) {
+                retval.put(type, next);
+                pending.addAll(Arrays.asList(type.getAnnotations()));
+            }
+        }
+        return retval.isEmpty() ? Collections.emptyMap() : retval;
+    }
+
+    private static <M extends AnnotatedElement> void index(
+            final Map<Class<?>, List<M>> index, final M member) {
+        for (final Class<?> type : present(member).keySet()) {
+            index.computeIfAbsent(type, k -> new ArrayList<>()).add(member);
+        }
+    }
+
+    private static <M> Map<Class<?>, M[]> toArrays(
+            final Map<Class<?>, List<M>> index, final M[] empty) {
+        final Map<Class<?>, M[]> retval = new HashMap<>(index.size() * 2);
+        for (final Map.Entry<Class<?>, List<M>> entry : index.entrySet()) {
+            retval.put(entry.getKey(), entry.getValue().toArray(empty));
+        }
+        return retval;
+    }
+
+    /**
+     * @return methods declared along the class hierarchy up to Object, an
+     *         override hiding the method it overrides. Private methods do not
+     *         override.
+     */
+    private static List<Method> methods(final Class<?> type) {
+        final List<Method> retval = new ArrayList<>();
+        final Map<String, List<Class<?>[]>> seen = new HashMap<>();
+        for (Class<?> current = type; current != null
+                && current != Object.class; current =
+                        current.getSuperclass()) {
+            for (final Method method : current.getDeclaredMethods()) {
+                if (!method.isBridge() && !method.isSynthetic()
+                        && (Modifier.isPrivate(method.getModifiers())
+                                || isFirst(seen, method))) {
+                    retval.add(method);
+                }
+            }
+        }
+        return retval;
+    }
+
+    private static boolean isFirst(final Map<String, List<Class<?>[]>> seen,
+                                   final Method method) {
+        final List<Class<?>[]> signatures =
+                seen.computeIfAbsent(method.getName(), k -> new ArrayList<>());
+        final Class<?>[] params = method.getParameterTypes();
+        boolean retval = true;
+        for (final Class<?>[] signature : signatures) {
+            if (Arrays.equals(signature, params)) {
+                retval = false;
+                break;
+            }
+        }
+        if (retval) {
+            signatures.add(params);
+        }
+        return retval;
+    }
+
+}
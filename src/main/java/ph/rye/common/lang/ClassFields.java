@@ -0,0 +1,97 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field metadata of a class, including inherited fields, computed once per
+ * class. Held in a ClassValue, so it goes away with the class and does not
+ * pin a redeployed class loader.
+ *
+ * @author royce
+ */
+final class ClassFields {
+
+
+    private static final ClassValue<ClassFields> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassFields computeValue(final Class<?> type) {
+            return new ClassFields(type);
+        }
+    };
+
+    private static final ClassFields NONE = new ClassFields();
+
+
+    /** Declared fields of the class first, then of each superclass. */
+    private final transient List<Field> fields;
+
+    /** Field by name, a field hides the ones of its superclasses. */
+    private final transient Map<String, Field> byName;
+
+
+    private ClassFields() {
+        fields = Collections.emptyList();
+        byName = Collections.emptyMap();
+    }
+
+    private ClassFields(final Class<?> type) {
+        final ClassFields parent = of(type.getSuperclass());
+        final Field[] declared = type.getDeclaredFields();
+
+        final List<Field> all =
+                new ArrayList<>(declared.length + parent.fields.size());
+        all.addAll(Arrays.asList(declared));
+        all.addAll(parent.fields);
+
+        final Map<String, Field> names = new HashMap<>(parent.byName);
+        for (final Field field : declared) {
+            names.put(field.getName(), field);
+        }
+
+        fields = Collections.unmodifiableList(all);
+        byName = Collections.unmodifiableMap(names);
+    }
+
+
+    /**
+     * @param type any class, null for none.
+     * @return metadata of the class. Empty for null, Object, interfaces and
+     *         primitives.
+     */
+    static ClassFields of(final Class<?> type) {
+        return type == null || type == Object.class || type.isInterface()
+                || type.isPrimitive() ? NONE : CACHE.get(type);
+    }
+
+    /** @return immutable view of all fields, the class's own first. */
+    List<Field> getFields() {
+        return fields;
+    }
+
+    /** @return the most derived field with the name, null when none. */
+    Field getField(final String name) {
+        return byName.get(name);
+    }
+
+}
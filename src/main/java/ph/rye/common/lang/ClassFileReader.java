@@ -0,0 +1,295 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the name, superclass, interfaces and class level runtime visible
+ * annotations of a class file, without loading the class. Only the constant
+ * pool entries needed are decoded. See JVMS chapter 4.
+ *
+ * A reader lives only while one class file is parsed, callers keep the small
+ * {@link ClassInfo} it returns, not the class file.
+ *
+ * @author royce
+ */
+final class ClassFileReader {
+
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final String ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    /* Constant pool tags. */
+    private static final int UTF8 = 1;
+    private static final int INTEGER = 3;
+    private static final int FLOAT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int CLASS = 7;
+    private static final int STRING = 8;
+    private static final int FIELD_REF = 9;
+    private static final int METHOD_REF = 10;
+    private static final int INTERFACE_METHOD_REF = 11;
+    private static final int NAME_AND_TYPE = 12;
+    private static final int METHOD_HANDLE = 15;
+    private static final int METHOD_TYPE = 16;
+    private static final int DYNAMIC = 17;
+    private static final int INVOKE_DYNAMIC = 18;
+    private static final int MODULE = 19;
+    private static final int PACKAGE = 20;
+
+
+    private final transient ByteBuffer bytes;
+
+
+    private ClassFileReader(final byte[] classFile) {
+        bytes = ByteBuffer.wrap(classFile);
+    }
+
+
+    /**
+     * @param classFile content of a class file.
+     * @return what is known of the class, the class file is not kept.
+     * @throws IOException when the content is not a valid class file.
+     */
+    static ClassInfo read(final byte[] classFile) throws IOException {
+        try {
+            return new ClassFileReader(classFile).parse();
+        } catch (final BufferUnderflowException
+                | IndexOutOfBoundsException
+                | IllegalArgumentException e) {
+            throw new IOException("Malformed class file", e);
+        }
+    }
+
+    private ClassInfo parse() throws IOException {
+        if (bytes.getInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        skip(4); //version.
+
+        final int[] pool = new int[bytes.getShort() & 0xFFFF];
+        readConstantPool(pool);
+
+        bytes.getShort(); //access flags.
+        final String className =
+                binaryName(classNameAt(pool, bytes.getShort() & 0xFFFF));
+        final int superIndex = bytes.getShort() & 0xFFFF;
+        final String superName = superIndex == 0 ? null
+                : binaryName(classNameAt(pool, superIndex));
+        final String[] interfaces = new String[bytes.getShort() & 0xFFFF];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] =
+                    binaryName(classNameAt(pool, bytes.getShort() & 0xFFFF));
+        }
+
+        skipMembers(); //fields.
+        skipMembers(); //methods.
+        return new ClassInfo(
+            className,
+            superName,
+            List.of(interfaces),
+            readAnnotations(pool));
+    }
+
+    /**
+     * @param pool receives the offset of each entry, past its tag.
+     */
+    private void readConstantPool(final int[] pool) {
+        for (int i = 1; i < pool.length; i++) {
+            final int tag = bytes.get();
+            pool[i] = bytes.position();
+            switch (tag) {
+                case UTF8:
+                    skip(bytes.getShort() & 0xFFFF);
+                    break;
+                case CLASS:
+                case STRING:
+                case METHOD_TYPE:
+                case MODULE:
+                case PACKAGE:
+                    skip(2);
+                    break;
+                case METHOD_HANDLE:
+                    skip(3);
+                    break;
+                case INTEGER:
+                case FLOAT:
+                case FIELD_REF:
+                case METHOD_REF:
+                case INTERFACE_METHOD_REF:
+                case NAME_AND_TYPE:
+                case DYNAMIC:
+                case INVOKE_DYNAMIC:
+                    skip(4);
+                    break;
+                case LONG:
+                case DOUBLE:
+                    skip(8);
+                    i++; //takes two entries.
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                        "Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    private void skipMembers() {
+        final int count = bytes.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            skip(6); //access flags, name and descriptor.
+            skipAttributes(bytes.getShort() & 0xFFFF);
+        }
+    }
+
+    private void skipAttributes(final int count) {
+        for (int i = 0; i < count; i++) {
+            skip(2);
+            skip(bytes.getInt());
+        }
+    }
+
+    private List<String> readAnnotations(final int[] pool) throws IOException {
+        List<String> retval = Collections.emptyList();
+        final int count = bytes.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            final String name = utf8At(pool, bytes.getShort() & 0xFFFF);
+            final int length = bytes.getInt();
+            if (ANNOTATIONS.equals(name)) {
+                final int end = bytes.position() + length;
+                final int annotationCount = bytes.getShort() & 0xFFFF;
+                final String[] names = new String[annotationCount];
+                for (int j = 0; j < annotationCount; j++) {
+                    names[j] = binaryName(readAnnotation(pool));
+                }
+                retval = List.of(names);
+                bytes.position(end);
+            } else {
+                skip(length);
+            }
+        }
+        return retval;
+    }
+
+    /** @return descriptor of the annotation type, like La/b/C;. */
+    private String readAnnotation(final int[] pool) throws IOException {
+        final String retval = utf8At(pool, bytes.getShort() & 0xFFFF);
+        final int pairs = bytes.getShort() & 0xFFFF;
+        for (int i = 0; i < pairs; i++) {
+            skip(2); //element name.
+            skipElementValue(pool);
+        }
+        return retval;
+    }
+
+    private void skipElementValue(final int[] pool) throws IOException {
+        final char tag = (char) bytes.get();
+        switch (tag) {
+            case 'e':
+                skip(4); //enum type and constant name.
+                break;
+            case '@':
+                readAnnotation(pool);
+                break;
+            case '[':
+                final int count = bytes.getShort() & 0xFFFF;
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(pool);
+                }
+                break;
+            default:
+                skip(2); //constant or class info.
+        }
+    }
+
+    private void skip(final int count) {
+        bytes.position(bytes.position() + count);
+    }
+
+    private String classNameAt(final int[] pool, final int index)
+            throws IOException {
+        return utf8At(pool, bytes.getShort(pool[index]) & 0xFFFF);
+    }
+
+    private String utf8At(final int[] pool, final int index)
+            throws IOException {
+        final int offset = pool[index];
+        final int length = bytes.getShort(offset) & 0xFFFF;
+        return new DataInputStream(
+            new ByteArrayInputStream(bytes.array(), offset, length + 2))
+                .readUTF();
+    }
+
+    /** Internal names and La/b/C; descriptors to binary names. */
+    private static String binaryName(final String internal) {
+        final String name = internal.endsWith(";")
+                ? internal.substring(1, internal.length() - 1)
+                : internal;
+        return name.replace('/', '.');
+    }
+
+
+    /** Name, supertypes and class annotations of a class file. */
+    static final class ClassInfo {
+
+        private final transient String className;
+        private final transient String superName;
+        private final transient List<String> interfaces;
+        private final transient List<String> annotations;
+
+        ClassInfo(final String className, final String superName,
+                final List<String> interfaces,
+                final List<String> annotations) {
+            this.className = className;
+            this.superName = superName;
+            this.interfaces = interfaces;
+            this.annotations = annotations;
+        }
+
+        /** @return binary name, like a.b.Outer$Inner. */
+        String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return binary name of the superclass, null for Object and
+         *         modules.
+         */
+        String getSuperName() {
+            return superName;
+        }
+
+        /** @return binary names of the directly implemented interfaces. */
+        List<String> getInterfaces() {
+            return interfaces;
+        }
+
+        /** @return binary names of the annotations declared on the class. */
+        List<String> getAnnotations() {
+            return annotations;
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Compiled property copy from one bean class to another. Each property the
+ * source can read and the target can write becomes one method handle that
+ * feeds the getter straight into the setter, so primitive values are never
+ * boxed and nothing is looked up while copying. The handles are folded into
+ * a single one.
+ *
+ * @author royce
+ */
+final class CopyPlan {
+
+
+    /**
+     * Plans stored on the source class, for targets that live at least as
+     * long. Per target class, then per source class.
+     */
+    private static final ClassValue<ClassValue<CopyPlan>> ON_SOURCE =
+            new ClassValue<>() {
+                @Override
+                protected ClassValue<CopyPlan> computeValue(
+                        final Class<?> target) {
+                    return new ClassValue<>() {
+                        @Override
+                        protected CopyPlan computeValue(final Class<?> source) {
+                            return new CopyPlan(source, target);
+                        }
+                    };
+                }
+            };
+
+    /**
+     * Plans stored on the target class, for sources that live at least as
+     * long. Per source class, then per target class.
+     */
+    private static final ClassValue<ClassValue<CopyPlan>> ON_TARGET =
+            new ClassValue<>() {
+                @Override
+                protected ClassValue<CopyPlan> computeValue(
+                        final Class<?> source) {
+                    return new ClassValue<>() {
+                        @Override
+                        protected CopyPlan computeValue(final Class<?> target) {
+                            return new CopyPlan(source, target);
+                        }
+                    };
+                }
+            };
+
+    /**
+     * Plans between classes of unrelated loaders, per source class then
+     * target class. Held softly, either class can still be unloaded.
+     */
+    private static final ClassValue<Map<Class<?>, SoftReference<CopyPlan>>> UNRELATED =
+            new ClassValue<>() {
+                @Override
+                protected Map<Class<?>, SoftReference<CopyPlan>> computeValue(
+                        final Class<?> source) {
+                    return Collections.synchronizedMap(new WeakHashMap<>());
+                }
+            };
+
+    /** (Object target, Object source)void. */
+    private static final MethodType COPIER_TYPE =
+            MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
+
+    /** One getter to setter handle per copied property. */
+    private final transient MethodHandle[] copiers;
+
+    /**
+     * The copiers folded into one handle, a single call per copy that the JIT
+     * compiles as a whole.
+     */
+    private final transient MethodHandle copyAll;
+
+
+    private CopyPlan(final Class<?> source, final Class<?> target) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (Class<?> current = target; current != null; current =
+                current.getSuperclass()) {
+            for (final Method method : current.getDeclaredMethods()) {
+                if (PropertyAccessors.isSetter(method)) {
+                    final String suffix = method.getName().substring(3);
+                    names.add(
+                        Character.toLowerCase(suffix.charAt(0))
+                                + suffix.substring(1));
+                }
+            }
+        }
+
+        final List<MethodHandle> handles = new ArrayList<>();
+        for (final String name : names) {
+            final Method getter = PropertyAccessors.findGetter(source, name);
+            final Method setter = getter == null ? null
+                    : PropertyAccessors
+                        .findSetter(target, name, getter.getReturnType());
+            if (setter != null) {
+
+                final Class<?> type = setter.getParameterTypes()[0];
+                final MethodHandle read = PropertyAccessors
+                    .unreflect(getter)
+                    .asType(MethodType.methodType(type, Object.class));
+                final MethodHandle write = PropertyAccessors
+                    .unreflect(setter)
+                    .asType(
+                        MethodType.methodType(Void.TYPE, Object.class, type));
+                handles.add(MethodHandles.filterArguments(write, 1, read));
+            }
+        }
+        copiers = handles.toArray(new MethodHandle[handles.size()]);
+
+        MethodHandle all = MethodHandles.empty(COPIER_TYPE);
+        for (int i = copiers.length - 1; i >= 0; i--) {
+            all = MethodHandles.foldArguments(all, copiers[i]);
+        }
+        copyAll = all;
+    }
+
+
+    /**
+     * A plan holds handles of both classes. It is cached on the class that
+     * cannot outlive the other, so it never keeps a class from being
+     * unloaded.
+     *
+     * @param source source bean class.
+     * @param target target bean class.
+     * @return plan compiled on first use, then cached.
+     */
+    static CopyPlan of(final Class<?> source, final Class<?> target) {
+        CopyPlan retval;
+        if (outlives(target, source)) {
+            retval = ON_SOURCE.get(target).get(source);
+        } else if (outlives(source, target)) {
+            retval = ON_TARGET.get(source).get(target);
+        } else {
+            final Map<Class<?>, SoftReference<CopyPlan>> plans =
+                    UNRELATED.get(source);
+            final SoftReference<CopyPlan> cached = plans.get(target);
+            retval = cached == null ? null : cached.get();
+            if (retval == null) {
+                retval = new CopyPlan(source, target);
+                plans.put(target, new SoftReference<>(retval));
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * @return true when the loader of type is the one of user, or one of its
+     *         parents. A parent loader is held by its children.
+     */
+    private static boolean outlives(final Class<?> type, final Class<?> user) {
+        final ClassLoader loader = type.getClassLoader();
+        boolean retval = loader == null;
+        for (ClassLoader current = user.getClassLoader(); !retval
+                && current != null; current = current.getParent()) {
+            retval = current == loader;
+        }
+        return retval;
+    }
+
+    /**
+     * Copies every planned property. Exceptions of the accessors are thrown
+     * as is.
+     */
+    void copy(final Object source, final Object target) {
+        try {
+            copyAll.invokeExact(target, source);
+        } catch (final Throwable e) { //NOPMD invokeExact throws it.
+            throw PropertyAccessors.<RuntimeException>sneakyThrow(e);
+        }
+    }
+
+    int size() {
+        return copiers.length;
+    }
+
+    /**
+     * Same type, reference widening, primitive widening or boxing. Anything
+     * that could fail at runtime, narrowing or unboxing a null, is not
+     * copied.
+     */
+    static boolean isAssignable(final Class<?> from, final Class<?> into) {
+        boolean retval = into.isAssignableFrom(from);
+        if (!retval && from.isPrimitive()) {
+            if (into.isPrimitive()) {
+                try {
+                    MethodHandles
+                        .identity(from)
+                        .asType(MethodType.methodType(into, from));
+                    retval = true;
+                } catch (final WrongMethodTypeException e) { //NOPMD Reviewed.
+                    //narrowing.
+                }
+            } else {
+                retval = into.isAssignableFrom(
+                    MethodType.methodType(from).wrap().returnType());
+            }
+        }
+        return retval;
+    }
+
+}
@@ -0,0 +1,311 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * PL/SQL style decode compiled once into an immutable table. The search
+ * values are matched with equals, the first one wins, null matches null.
+ * Applying a decoder does not allocate.
+ *
+ * <pre>
+ * final Decoder&lt;String, Integer&gt; priority = Decoder
+ *     .&lt;String, Integer&gt;builder()
+ *     .when("HIGH", 1)
+ *     .when("LOW", 3)
+ *     .otherwise(2)
+ *     .build();
+ * </pre>
+ *
+ * The table is picked from the search values: an array indexed by the value
+ * for small dense int, char, short or byte values, a linear scan for a few
+ * values, a hash table otherwise.
+ *
+ * @param <K> search value type.
+ * @param <V> result type.
+ *
+ * @author royce
+ */
+public abstract class Decoder<K, V> implements Function<K, V> {
+
+
+    /** Up to this many search values are scanned linearly. */
+    static final int LINEAR_LIMIT = 8;
+
+    /** Dense tables span up to this many slots per search value. */
+    static final int DENSE_FACTOR = 4;
+
+    /** Spans up to this many slots are always dense. */
+    static final int DENSE_MIN_SPAN = 64;
+
+
+    /** Result when nothing matches. */
+    final transient V otherwise;
+
+    /** Result of a null expression. */
+    private final transient V nullResult;
+
+
+    Decoder(final V otherwise, final V nullResult) {
+        this.otherwise = otherwise;
+        this.nullResult = nullResult;
+    }
+
+
+    /**
+     * @param <K> search value type.
+     * @param <V> result type.
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Compiles PL/SQL decode arguments, see
+     * {@link ObjectUtil#decode(Object, Object, Object...)}.
+     *
+     * @param search first search value.
+     * @param result its result, then further search and result pairs, then
+     *            an optional default.
+     */
+    public static Decoder<Object, Object> of(final Object search,
+                                             final Object... result) {
+        final Builder<Object, Object> builder = builder();
+        if (result == null || result.length == 0) {
+            builder.when(search, null);
+        } else {
+            builder.when(search, result[0]);
+            for (int i = 1; i + 1 < result.length; i += 2) {
+                builder.when(result[i], result[i + 1]);
+            }
+            if (result.length % 2 == 0) {
+                builder.otherwise(result[result.length - 1]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param expression value to decode, may be null.
+     * @return the result of the first equal search value, otherwise the
+     *         default.
+     */
+    @Override
+    public V apply(final K expression) {
+        return expression == null ? nullResult : decode(expression);
+    }
+
+    /** @param expression not null. */
+    abstract V decode(K expression);
+
+
+    /**
+     * Collects search and result pairs.
+     *
+     * @param <K> search value type.
+     * @param <V> result type.
+     */
+    public static final class Builder<K, V> {
+
+        private final transient List<K> searches = new ArrayList<>();
+        private final transient List<V> results = new ArrayList<>();
+        private transient V otherwise;
+
+        private Builder() {}
+
+        /**
+         * @param search value compared with equals, may be null.
+         * @param result returned when the expression equals search. A
+         *            search value already added keeps its result.
+         */
+        public Builder<K, V> when(final K search, final V result) {
+            if (!searches.contains(search)) {
+                searches.add(search);
+                results.add(result);
+            }
+            return this;
+        }
+
+        /** @param result returned when nothing matches, null by default. */
+        public Builder<K, V> otherwise(final V result) {
+            otherwise = result;
+            return this;
+        }
+
+        /** @return immutable decoder, the builder may be reused. */
+        public Decoder<K, V> build() {
+            final int nullIndex = searches.indexOf(null);
+            final V nullResult =
+                    nullIndex < 0 ? otherwise : results.get(nullIndex);
+
+            final List<Object> keys = new ArrayList<>(searches);
+            final List<Object> values = new ArrayList<>(results);
+            if (nullIndex >= 0) {
+                keys.remove(nullIndex);
+                values.remove(nullIndex);
+            }
+
+            Decoder<K, V> retval =
+                    Dense.of(keys, values, otherwise, nullResult);
+            if (retval == null && keys.size() <= LINEAR_LIMIT) {
+                retval = new Linear<>(keys, values, otherwise, nullResult);
+            } else if (retval == null) {
+                retval = new Hashed<>(keys, values, otherwise, nullResult);
+            }
+            return retval;
+        }
+    }
+
+
+    /** Compares each search value in order. */
+    static final class Linear<K, V> extends Decoder<K, V> {
+
+        private final transient Object[] keys;
+        private final transient Object[] values;
+
+        Linear(final List<Object> keys, final List<Object> values,
+               final V otherwise, final V nullResult) {
+            super(otherwise, nullResult);
+            this.keys = keys.toArray();
+            this.values = values.toArray();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V decode(final K expression) {
+            V retval = otherwise;
+            for (int i = 0; i < keys.length; i++) {
+                if (expression.equals(keys[i])) {
+                    retval = (V) values[i];
+                    break;
+                }
+            }
+            return retval;
+        }
+    }
+
+    /** Hash lookup, for many search values. */
+    static final class Hashed<K, V> extends Decoder<K, V> {
+
+        private final transient Map<Object, V> table;
+
+        @SuppressWarnings("unchecked")
+        Hashed(final List<Object> keys, final List<Object> values,
+               final V otherwise, final V nullResult) {
+            super(otherwise, nullResult);
+            table = new HashMap<>(keys.size() * 2);
+            for (int i = 0; i < keys.size(); i++) {
+                table.put(keys.get(i), (V) values.get(i));
+            }
+        }
+
+        @Override
+        V decode(final K expression) {
+            return table.getOrDefault(expression, otherwise);
+        }
+    }
+
+    /**
+     * Array indexed by the search value, like a tableswitch. Only matches
+     * expressions of the same class as the search values, as equals does.
+     */
+    static final class Dense<K, V> extends Decoder<K, V> {
+
+        private final transient Class<?> type;
+        private final transient int base;
+        private final transient Object[] table;
+
+        private Dense(final Class<?> type, final int base,
+                      final Object[] table, final V otherwise,
+                      final V nullResult) {
+            super(otherwise, nullResult);
+            this.type = type;
+            this.base = base;
+            this.table = table;
+        }
+
+        /** @return null when the search values are not small and dense. */
+        static <K, V> Dense<K, V> of(final List<Object> keys,
+                                     final List<Object> values,
+                                     final V otherwise, final V nullResult) {
+            final Class<?> type =
+                    keys.isEmpty() ? null : keys.get(0).getClass();
+
+            Dense<K, V> retval = null; //NOPMD: null default, conditionally redefine.
+            if (isIntegral(type) && isSameType(keys, type)) {
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                for (final Object key : keys) {
+                    min = Math.min(min, toInt(key));
+                    max = Math.max(max, toInt(key));
+                }
+
+                final long span = max - min + 1;
+                if (span <= Math
+                    .max(DENSE_MIN_SPAN, DENSE_FACTOR * keys.size())) {
+                    final Object[] table = new Object[(int) span];
+                    for (int i = 0; i < table.length; i++) {
+                        table[i] = otherwise;
+                    }
+                    for (int i = 0; i < keys.size(); i++) {
+                        table[(int) (toInt(keys.get(i)) - min)] = values.get(i);
+                    }
+                    retval = new Dense<>(type, (int) min, table, otherwise,
+                        nullResult);
+                }
+            }
+            return retval;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V decode(final K expression) {
+            V retval = otherwise;
+            if (expression.getClass() == type) {
+                final int index = toInt(expression) - base;
+                if (index >= 0 && index < table.length) {
+                    retval = (V) table[index];
+                }
+            }
+            return retval;
+        }
+
+        private static boolean isIntegral(final Class<?> type) {
+            return type == Integer.class || type == Character.class
+                    || type == Short.class || type == Byte.class;
+        }
+
+        private static boolean isSameType(final List<Object> keys,
+                                          final Class<?> type) {
+            boolean retval = true;
+            for (final Object key : keys) {
+                retval &= key.getClass() == type;
+            }
+            return retval;
+        }
+
+        private static int toInt(final Object key) {
+            return key instanceof Character ? (Character) key
+                    : ((Number) key).intValue();
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calls a resolved method through a MethodHandle, with the argument checks
+ * and the exception wrapping of Method.invoke. Instances are cached and
+ * shared, see {@link ReflectUtil#getMethodInvoker(Class, String, Class...)}.
+ *
+ * For hot call sites, {@link #as(Class)} implements a functional interface
+ * calling the method directly, without argument arrays or boxing.
+ *
+ * @author royce
+ */
+public final class MethodInvoker {
+
+
+    private static final Object[] NO_ARGS = {};
+
+
+    private final transient Method method;
+    private final transient Class<?>[] parameterTypes;
+
+    /** Parameter types, primitives as their wrapper. */
+    private final transient Class<?>[] boxedTypes;
+    private final transient boolean isStatic;
+
+    /** Handle of the method itself, the target first when not static. */
+    private final transient MethodHandle direct;
+
+    /** Takes the target, ignored when static, and the arguments array. */
+    private final transient MethodHandle handle;
+
+    /** Implementations by functional interface, see as(Class). */
+    private final transient Map<Class<?>, Object> typed =
+            new ConcurrentHashMap<>();
+
+
+    /**
+     * @param method resolved method, made accessible when needed.
+     */
+    MethodInvoker(final Method method) {
+        assert method != null;
+
+        this.method = method;
+        parameterTypes = method.getParameterTypes();
+        boxedTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            boxedTypes[i] = MethodResolver.wrap(parameterTypes[i]);
+        }
+        isStatic = Modifier.isStatic(method.getModifiers());
+
+        direct = PropertyAccessors.unreflect(method);
+        handle = (isStatic
+                ? MethodHandles.dropArguments(direct, 0, Object.class)
+                : direct)
+            .asType(MethodType.genericMethodType(parameterTypes.length + 1))
+            .asSpreader(Object[].class, parameterTypes.length);
+    }
+
+
+    /**
+     * @param target instance to call the method on, ignored when static.
+     * @param args arguments, primitives boxed. null for none.
+     * @return the method result, boxed when primitive. null when void.
+     * @throws InvocationTargetException when the method throws.
+     * @throws IllegalArgumentException when the target or the arguments do
+     *             not fit the method.
+     */
+    public Object invoke(final Object target, final Object... args)
+            throws InvocationTargetException {
+        final Object[] actual = args == null ? NO_ARGS : args;
+        checkArguments(target, actual);
+        try {
+            return handle.invokeExact(target, actual);
+        } catch (final Throwable e) { //NOPMD invokeExact throws it.
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Implements the functional interface with this method, computed once
+     * per interface. The interface parameters are the method's, preceded by
+     * the target when not static; primitives may be boxed. Spun through
+     * LambdaMetafactory when the declaring class can be fully accessed,
+     * otherwise a proxy over the method handle.
+     *
+     * Exceptions of the method are thrown as is, not wrapped.
+     *
+     * @param functional interface with a single abstract method.
+     * @return shared implementation.
+     * @throws IllegalArgumentException when the interface method does not
+     *             fit.
+     */
+    public <F> F as(final Class<F> functional) {
+        assert functional != null;
+
+        Object retval = typed.get(functional);
+        if (retval == null) {
+            retval = typed.computeIfAbsent(functional, this::implement);
+        }
+        return functional.cast(retval);
+    }
+
+    private Object implement(final Class<?> functional) {
+        final Method sam = singleAbstractMethod(functional);
+        final MethodType erased = MethodType
+            .methodType(sam.getReturnType(), sam.getParameterTypes());
+        if (erased.parameterCount() != direct.type().parameterCount()) {
+            throw new IllegalArgumentException(
+                sam + " does not fit " + method);
+        }
+
+        Object retval = PropertyAccessors.metafactory(
+            method,
+            functional,
+            sam.getName(),
+            erased,
+            instantiated(erased));
+        if (retval == null) {
+            retval = MethodHandleProxies
+                .asInterfaceInstance(functional, direct.asType(erased));
+        }
+        return retval;
+    }
+
+    /**
+     * The erased interface type narrowed to the method's, so the spun class
+     * casts and boxes like a lambda would.
+     */
+    private MethodType instantiated(final MethodType erased) {
+        final MethodType target = direct.type();
+        final Class<?>[] params = new Class<?>[erased.parameterCount()];
+        for (int i = 0; i < params.length; i++) {
+            params[i] =
+                    narrow(erased.parameterType(i), target.parameterType(i));
+        }
+        return MethodType.methodType(
+            erased.returnType() == Void.TYPE ? Void.TYPE
+                    : narrow(erased.returnType(), target.returnType()),
+            params);
+    }
+
+    private static Class<?> narrow(final Class<?> erased,
+                                   final Class<?> target) {
+        final Class<?> wrapped = MethodResolver.wrap(target);
+        return erased.isPrimitive() || !erased.isAssignableFrom(wrapped)
+                ? erased
+                : wrapped;
+    }
+
+    private static Method singleAbstractMethod(final Class<?> functional) {
+        if (!functional.isInterface()) {
+            throw new IllegalArgumentException(
+                functional.getName() + " is not an interface");
+        }
+
+        Method retval = null; //NOPMD: null default, conditionally redefine.
+        for (final Method candidate : functional.getMethods()) {
+            if (Modifier.isAbstract(candidate.getModifiers())
+                    && !isObjectMethod(candidate)) {
+                if (retval != null) {
+                    throw new IllegalArgumentException(
+                        functional.getName() + " is not functional");
+                }
+                retval = candidate;
+            }
+        }
+        if (retval == null) {
+            throw new IllegalArgumentException(
+                functional.getName() + " is not functional");
+        }
+        return retval;
+    }
+
+    /** @return true for interface redeclarations of Object methods. */
+    private static boolean isObjectMethod(final Method method) {
+        boolean retval;
+        try {
+            retval = Modifier.isPublic(
+                Object.class
+                    .getMethod(method.getName(), method.getParameterTypes())
+                    .getModifiers());
+        } catch (final NoSuchMethodException e) {
+            retval = false;
+        }
+        return retval;
+    }
+
+    /** @return the resolved method. */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Same checks as Method.invoke, so only exceptions of the method itself
+     * reach the handle.
+     */
+    private void checkArguments(final Object target, final Object[] args) {
+        if (!isStatic && !method.getDeclaringClass().isInstance(target)) {
+            throw new IllegalArgumentException(
+                "object is not an instance of declaring class");
+        }
+        if (args.length != parameterTypes.length) {
+            throw new IllegalArgumentException(
+                "wrong number of arguments: " + args.length + " expected: "
+                        + parameterTypes.length);
+        }
+        for (int i = 0; i < args.length; i++) {
+            final Class<?> type = parameterTypes[i];
+            final boolean valid;
+            if (args[i] == null) {
+                valid = !type.isPrimitive();
+            } else {
+                valid = boxedTypes[i].isInstance(args[i])
+                        || type.isPrimitive()
+                                && MethodResolver.isPrimitiveWidening(
+                                    MethodResolver.unwrap(args[i].getClass()),
+                                    type);
+            }
+            if (!valid) {
+                throw new IllegalArgumentException(
+                    "argument type mismatch at " + i + ", expected: "
+                            + type.getName());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+
+}
@@ -0,0 +1,299 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per class cache of resolved methods, keyed by name and argument types. A
+ * method is resolved once with overload resolution like the compiler's:
+ * first by subtyping and primitive widening, then allowing boxing and
+ * unboxing, picking the most specific candidate. Misses are cached as well.
+ *
+ * @author royce
+ */
+final class MethodResolver {
+
+
+    /** Invokers per class, filled as methods are resolved. */
+    private static final ClassValue<Map<Signature, Object>> INVOKERS =
+            new ClassValue<>() {
+                @Override
+                protected Map<Signature, Object> computeValue(
+                        final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * Numeric primitives by range, each widens to the ones after it. char
+     * widens like short, except to short itself. See JLS 5.1.2.
+     */
+    private static final String WIDENING = "BSIJFD";
+
+    private static final Class<?>[] NO_TYPES = {};
+
+
+    private MethodResolver() {}
+
+
+    /**
+     * @param type class to resolve the method from, declared or inherited.
+     * @param name method name.
+     * @param types argument types, null for an argument of unknown type
+     *            which matches any reference parameter.
+     * @throws NoSuchMethodException when no method applies, or more than one
+     *             applies with none more specific than the others.
+     */
+    static MethodInvoker invoker(final Class<?> type, final String name,
+                                 final Class<?>... types)
+            throws NoSuchMethodException {
+        final Object retval = cached(type, name, types);
+        if (retval instanceof String) {
+            throw Stackless.noSuchMethod((String) retval);
+        }
+        return (MethodInvoker) retval;
+    }
+
+    /**
+     * @see #invoker(Class, String, Class...)
+     * @return null when no unique method applies.
+     */
+    static MethodInvoker find(final Class<?> type, final String name,
+                              final Class<?>... types) {
+        final Object retval = cached(type, name, types);
+        return retval instanceof MethodInvoker ? (MethodInvoker) retval : null;
+    }
+
+    /** @return the invoker, or the miss message. */
+    private static Object cached(final Class<?> type, final String name,
+                                 final Class<?>... types) {
+        final Map<Signature, Object> invokers = INVOKERS.get(type);
+        final Signature signature = new Signature(name, types);
+        Object retval = invokers.get(signature);
+        if (retval == null) {
+            retval = invokers.computeIfAbsent(
+                new Signature(name, signature.types.clone()),
+                k -> resolve(type, k));
+        }
+        return retval;
+    }
+
+    /** @return the invoker, or the miss message. */
+    private static Object resolve(final Class<?> type,
+                                  final Signature signature) {
+        final List<Method> candidates = candidates(type, signature);
+
+        List<Method> applicable = applicable(candidates, signature, false);
+        if (applicable.isEmpty()) {
+            applicable = applicable(candidates, signature, true);
+        }
+
+        final List<Method> specific = new ArrayList<>(1);
+        for (final Method method : applicable) {
+            boolean maximal = true;
+            for (final Method other : applicable) {
+                if (other != method
+                        && isMoreSpecific(other, method)
+                        && !isMoreSpecific(method, other)) {
+                    maximal = false;
+                    break;
+                }
+            }
+            if (maximal) {
+                specific.add(method);
+            }
+        }
+
+        Object retval;
+        if (specific.size() == 1) {
+            retval = new MethodInvoker(specific.get(0));
+        } else {
+            retval = type.getName() + '.' + signature
+                    + (specific.isEmpty() ? "" : " is ambiguous");
+        }
+        return retval;
+    }
+
+    /**
+     * Methods of the name and arity, declared along the class hierarchy then
+     * public ones including interface defaults. An override hides the
+     * methods it overrides.
+     */
+    private static List<Method> candidates(final Class<?> type,
+                                           final Signature signature) {
+        final List<Method> retval = new ArrayList<>();
+        for (Class<?> current = type; current != null; current =
+                current.getSuperclass()) {
+            addCandidates(retval, current.getDeclaredMethods(), signature);
+        }
+        addCandidates(retval, type.getMethods(), signature);
+        return retval;
+    }
+
+    private static void addCandidates(final List<Method> candidates,
+                                      final Method[] methods,
+                                      final Signature signature) {
+        for (final Method method : methods) {
+            if (!method.isBridge()
+                    && method.getName().equals(signature.name)
+                    && method.getParameterCount() == signature.types.length
+                    && !isHidden(candidates, method)) {
+                candidates.add(method);
+            }
+        }
+    }
+
+    private static boolean isHidden(final List<Method> candidates,
+                                    final Method method) {
+        boolean retval = false; //NOPMD: false default, conditionally redefine.
+        for (final Method candidate : candidates) {
+            if (Arrays.equals(
+                candidate.getParameterTypes(),
+                method.getParameterTypes())) {
+                retval = true;
+                break;
+            }
+        }
+        return retval;
+    }
+
+    private static List<Method> applicable(final List<Method> candidates,
+                                           final Signature signature,
+                                           final boolean boxing) {
+        final List<Method> retval = new ArrayList<>(1);
+        for (final Method method : candidates) {
+            final Class<?>[] params = method.getParameterTypes();
+            boolean matches = true;
+            for (int i = 0; matches && i < params.length; i++) {
+                matches = isConvertible(signature.types[i], params[i], boxing);
+            }
+            if (matches) {
+                retval.add(method);
+            }
+        }
+        return retval;
+    }
+
+    /** True when each parameter of method converts to the other's. */
+    private static boolean isMoreSpecific(final Method method,
+                                          final Method other) {
+        final Class<?>[] params = method.getParameterTypes();
+        final Class<?>[] otherParams = other.getParameterTypes();
+        boolean retval = true;
+        for (int i = 0; retval && i < params.length; i++) {
+            retval = isConvertible(params[i], otherParams[i], false);
+        }
+        return retval;
+    }
+
+    /**
+     * @param from argument type, null for unknown.
+     * @param into parameter type.
+     * @param boxing allow boxing and unboxing.
+     */
+    static boolean isConvertible(final Class<?> from, final Class<?> into,
+                                 final boolean boxing) {
+        boolean retval;
+        if (from == null) {
+            retval = !into.isPrimitive();
+        } else if (from.isPrimitive() == into.isPrimitive()) {
+            retval = into.isAssignableFrom(from)
+                    || isPrimitiveWidening(from, into);
+        } else if (!boxing) {
+            retval = false;
+        } else if (from.isPrimitive()) {
+            retval = into.isAssignableFrom(wrap(from));
+        } else {
+            retval = isPrimitiveWidening(unwrap(from), into);
+        }
+        return retval;
+    }
+
+    /** @return true when equal or widening, false for non primitives. */
+    static boolean isPrimitiveWidening(final Class<?> from,
+                                       final Class<?> into) {
+        boolean retval = from == into && from.isPrimitive();
+        if (!retval && from.isPrimitive() && into.isPrimitive()) {
+            final int source = from == Character.TYPE ? 1
+                    : WIDENING.indexOf(descriptor(from));
+            retval = source >= 0
+                    && WIDENING.indexOf(descriptor(into)) > source;
+        }
+        return retval;
+    }
+
+    private static char descriptor(final Class<?> primitive) {
+        return MethodType.methodType(primitive).toMethodDescriptorString()
+            .charAt(2);
+    }
+
+    /** @return the wrapper of a primitive, other types unchanged. */
+    static Class<?> wrap(final Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    /** @return the primitive of a wrapper, other types unchanged. */
+    static Class<?> unwrap(final Class<?> type) {
+        return MethodType.methodType(type).unwrap().returnType();
+    }
+
+
+    /** Cache key, a method name and argument types. */
+    private static final class Signature {
+
+        private final transient String name;
+        private final transient Class<?>[] types;
+        private final transient int hash;
+
+        Signature(final String name, final Class<?>[] types) {
+            this.name = name;
+            this.types = types == null ? NO_TYPES : types;
+            hash = 31 * name.hashCode() + Arrays.hashCode(this.types);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Signature
+                    && name.equals(((Signature) other).name)
+                    && Arrays.equals(types, ((Signature) other).types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder retval = new StringBuilder(name).append('(');
+            for (int i = 0; i < types.length; i++) {
+                if (i > 0) {
+                    retval.append(", ");
+                }
+                retval.append(types[i] == null ? "null" : types[i].getName());
+            }
+            return retval.append(')').toString();
+        }
+    }
+
+}
@@ -4,8 +4,6 @@ import java.util.EnumSet;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import ph.rye.common.loop.Range;
-
 
 /**
  * Common object utility.
@@ -68,8 +66,17 @@ public final class ObjectUtil {
 	}
 
 	/**
-	 * PLSQL decode function. NOTE: Use traditional if-then-elseif or switch
-	 * statement for performance consideration.
+	 * PLSQL decode function, a linear scan of the arguments without
+	 * allocation. Use a {@link Decoder#of(Object, Object...)} for decoding
+	 * repeatedly with the same arguments.
+	 *
+	 * Search values are compared with {@link #isEqual(Object, Object)}, so a
+	 * null search value matches any non null expression, and a null
+	 * expression matches only a null search value. A Decoder matches a null
+	 * search value only with a null expression:
+	 * decode("A", null, "x", "d") is "x" while
+	 * Decoder.of(null, "x", "d").apply("A") is "d". Both agree when no search
+	 * value is null.
 	 *
 	 * @param expression is the value to compare. S
 	 * @param search is the value that is compared against expression. S
@@ -80,49 +87,22 @@ public final class ObjectUtil {
 	 */
 	public static Object decode(final Object expression, final Object search,
 		final Object... result) {
-
-	final java.util.List<Object> ifList = new java.util.ArrayList<>();
-	ifList.add(search);
-
-	final java.util.List<Object> thenList = new java.util.ArrayList<>();
-
-	final Ano<Object> defaultResult =
-		new Ano<>(buildIfThenList(ifList, thenList, result));
-	final Ano<Object> retval = new Ano<>(defaultResult.get());
-	for (int i = 0; i < ifList.size(); i++) {
-		final Object nextIf = ifList.get(i);
-		if (isEqual(expression, nextIf)) {
-		retval.set(thenList.get(i));
-		break;
-		}
-	}
-
-	return retval.get();
-	}
-
-	private static Object buildIfThenList(final java.util.List<Object> ifList,
-		final java.util.List<Object> thenList,
-		final Object... result) {
-
-	final Ano<Object> defaultResult = new Ano<>();
-	if (result == null || result.length == 0) {
-		thenList.add(null);
-
-	} else {
-		if (result.length % 2 == 0) {
-		defaultResult.set(result[result.length - 1]);
+	Object retval = null; //NOPMD: null default, conditionally redefine.
+	if (isEqual(expression, search)) {
+		retval = result == null || result.length == 0 ? null : result[0];
+	} else if (result != null) {
+		int index = 1;
+		while (index + 1 < result.length
+			&& !isEqual(expression, result[index])) {
+		index += 2;
 		}
-
-		new Range<Object>(0, result.length - 1).each((i, nextElement) -> {
-		if (i % 2 == 1 && i != result.length - 1) {
-			ifList.add(result[i]);
-		} else if (i % 2 == 0) {
-			thenList.add(result[i]);
+		if (index + 1 < result.length) {
+		retval = result[index + 1];
+		} else if (result.length % 2 == 0) {
+		retval = result[result.length - 1];
 		}
-		});
 	}
-
-	return defaultResult.get();
+	return retval;
 	}
 
 
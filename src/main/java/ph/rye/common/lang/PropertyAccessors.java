@@ -0,0 +1,409 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import ph.rye.common.CommonException;
+
+/**
+ * Per class cache of compiled property getters and setters. An accessor is
+ * looked up once per class and property and compiled into a Function or a
+ * BiConsumer, through LambdaMetafactory when the bean class can be fully
+ * accessed, otherwise through a plain MethodHandle.
+ *
+ * @author royce
+ */
+final class PropertyAccessors {
+
+
+    /** Cached result of a property without getter. */
+    private static final Function<Object, Object> NO_GETTER = bean -> null;
+
+    /** Cached result of a property without setter. */
+    private static final BiConsumer<Object, Object> NO_SETTER =
+            (bean, value) -> {};
+
+    /** Property getters per bean class, filled as properties are read. */
+    private static final ClassValue<Map<String, Function<Object, Object>>> GETTERS =
+            new ClassValue<>() {
+                @Override
+                protected Map<String, Function<Object, Object>> computeValue(
+                        final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /** Property setters per bean class, filled as properties are written. */
+    private static final ClassValue<Map<String, BiConsumer<Object, Object>>> SETTERS =
+            new ClassValue<>() {
+                @Override
+                protected Map<String, BiConsumer<Object, Object>> computeValue(
+                        final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final MethodType APPLY_TYPE =
+            MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType ACCEPT_TYPE =
+            MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
+
+    private PropertyAccessors() {}
+
+
+    /**
+     * @param type bean class.
+     * @param property property name, not empty.
+     * @return compiled getter of the property, getX or for booleans isX.
+     * @throws NoSuchMethodException when the class has no such getter.
+     */
+    static Function<Object, Object> getter(final Class<?> type,
+                                           final String property)
+            throws NoSuchMethodException {
+        final Function<Object, Object> retval =
+                findCompiledGetter(type, property);
+        if (retval == null) {
+            throw Stackless.noSuchMethod(
+                type.getName() + '.' + BeanUtil.getGetterMethodName(property));
+        }
+        return retval;
+    }
+
+    /**
+     * @see #getter(Class, String)
+     * @return null when the class has no such getter.
+     */
+    static Function<Object, Object> findCompiledGetter(final Class<?> type,
+                                                       final String property) {
+        final Map<String, Function<Object, Object>> getters = GETTERS.get(type);
+        Function<Object, Object> retval = getters.get(property);
+        if (retval == null) {
+            retval = getters.computeIfAbsent(
+                property,
+                k -> compileGetter(findGetter(type, k)));
+        }
+        return retval == NO_GETTER ? null : retval;
+    }
+
+    /**
+     * @param type bean class.
+     * @param property property name, not empty.
+     * @return compiled setter of the property. Primitive properties are
+     *         unboxed from the value.
+     * @throws NoSuchMethodException when the class has no such setter.
+     */
+    static BiConsumer<Object, Object> setter(final Class<?> type,
+                                             final String property)
+            throws NoSuchMethodException {
+        final BiConsumer<Object, Object> retval =
+                findCompiledSetter(type, property);
+        if (retval == null) {
+            throw Stackless.noSuchMethod(
+                type.getName() + ".set" + capitalize(property));
+        }
+        return retval;
+    }
+
+    /**
+     * @see #setter(Class, String)
+     * @return null when the class has no such setter.
+     */
+    static BiConsumer<Object, Object> findCompiledSetter(
+            final Class<?> type, final String property) {
+        final Map<String, BiConsumer<Object, Object>> setters =
+                SETTERS.get(type);
+        BiConsumer<Object, Object> retval = setters.get(property);
+        if (retval == null) {
+            retval = setters.computeIfAbsent(
+                property,
+                k -> compileSetter(findSetter(type, k)));
+        }
+        return retval == NO_SETTER ? null : retval;
+    }
+
+    /**
+     * Public getters first, including inherited ones, then the non public
+     * ones declared along the class hierarchy.
+     *
+     * @return null when there is no getter.
+     */
+    static Method findGetter(final Class<?> type, final String property) {
+        final String suffix = capitalize(property);
+        Method retval = findMethod(type, "get" + suffix);
+        if (retval == null || retval.getReturnType() == Void.TYPE) {
+            retval = findMethod(type, "is" + suffix);
+            if (retval != null && retval.getReturnType() != Boolean.TYPE
+                    && retval.getReturnType() != Boolean.class) {
+                retval = null;
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * Setters declared along the class hierarchy, the most derived first.
+     * When overloaded, the one taking the getter type wins.
+     *
+     * @return null when there is no setter.
+     */
+    static Method findSetter(final Class<?> type, final String property) {
+        final String name = "set" + capitalize(property);
+        final Method getter = findGetter(type, property);
+
+        Method first = null; //NOPMD: null default, conditionally redefine.
+        Method typed = null; //NOPMD: null default, conditionally redefine.
+        for (Class<?> current = type; current != null; current =
+                current.getSuperclass()) {
+            for (final Method method : current.getDeclaredMethods()) {
+                if (isSetter(method) && method.getName().equals(name)) {
+                    if (first == null) {
+                        first = method;
+                    }
+                    if (typed == null && getter != null && method
+                        .getParameterTypes()[0] == getter.getReturnType()) {
+                        typed = method;
+                    }
+                }
+            }
+        }
+        return typed == null ? first : typed;
+    }
+
+    /**
+     * Setter that can take a value of the given type: the overload taking
+     * exactly that type, otherwise the most specific one the value is
+     * assignable to, see {@link CopyPlan#isAssignable(Class, Class)}.
+     *
+     * @return null when no setter takes the type.
+     */
+    static Method findSetter(final Class<?> type, final String property,
+                             final Class<?> valueType) {
+        final String name = "set" + capitalize(property);
+
+        Method retval = null; //NOPMD: null default, conditionally redefine.
+        for (Class<?> current = type; current != null; current =
+                current.getSuperclass()) {
+            for (final Method method : current.getDeclaredMethods()) {
+                if (isSetter(method) && method.getName().equals(name)
+                        && CopyPlan.isAssignable(
+                            valueType,
+                            method.getParameterTypes()[0])
+                        && (retval == null || isCloser(
+                            method.getParameterTypes()[0],
+                            retval.getParameterTypes()[0],
+                            valueType))) {
+                    retval = method;
+                }
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * @return true when the candidate parameter is the value type, or is
+     *         narrower than the current one that is not. An override further
+     *         up the hierarchy, same type, does not replace the current.
+     */
+    private static boolean isCloser(final Class<?> candidate,
+                                    final Class<?> current,
+                                    final Class<?> valueType) {
+        return current != valueType && candidate != current
+                && (candidate == valueType
+                        || CopyPlan.isAssignable(candidate, current));
+    }
+
+    /**
+     * @return true for an instance method named set* with one parameter.
+     */
+    static boolean isSetter(final Method method) {
+        return method.getName().startsWith("set")
+                && method.getName().length() > 3
+                && method.getParameterCount() == 1
+                && !Modifier.isStatic(method.getModifiers())
+                && !method.isBridge();
+    }
+
+    private static Method findMethod(final Class<?> type, final String name) {
+        Method retval = null; //NOPMD: null default, conditionally redefine.
+        try {
+            retval = type.getMethod(name);
+        } catch (final NoSuchMethodException e) {
+            for (Class<?> current = type; retval == null
+                    && current != null; current = current.getSuperclass()) {
+                try {
+                    retval = current.getDeclaredMethod(name);
+                } catch (final NoSuchMethodException nsme) { //NOPMD Reviewed.
+                    //try the superclass.
+                }
+            }
+        }
+        return retval == null || Modifier.isStatic(retval.getModifiers())
+                ? null
+                : retval;
+    }
+
+    static String capitalize(final String property) {
+        return Character.toUpperCase(property.charAt(0))
+                + property.substring(1);
+    }
+
+    /** @return NO_GETTER when the method is null. */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileGetter(final Method method) {
+        Function<Object, Object> retval = NO_GETTER;
+        if (method != null) {
+            final Class<?> declaring = method.getDeclaringClass();
+            retval = (Function<Object, Object>) metafactory(
+                method,
+                Function.class,
+                "apply",
+                APPLY_TYPE,
+                MethodType.methodType(
+                    MethodType.methodType(method.getReturnType())
+                        .wrap()
+                        .returnType(),
+                    declaring));
+            if (retval == null) {
+                final MethodHandle handle =
+                        unreflect(method).asType(APPLY_TYPE);
+                retval = bean -> {
+                    try {
+                        return handle.invokeExact(bean);
+                    } catch (final Throwable e) { //NOPMD invokeExact throws it.
+                        throw PropertyAccessors
+                            .<RuntimeException>sneakyThrow(e);
+                    }
+                };
+            }
+        }
+        return retval;
+    }
+
+    /** @return NO_SETTER when the method is null. */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> compileSetter(
+            final Method method) {
+        BiConsumer<Object, Object> retval = NO_SETTER;
+        if (method != null) {
+            final Class<?> declaring = method.getDeclaringClass();
+            retval = (BiConsumer<Object, Object>) metafactory(
+                method,
+                BiConsumer.class,
+                "accept",
+                ACCEPT_TYPE,
+                MethodType.methodType(
+                    Void.TYPE,
+                    declaring,
+                    MethodType
+                        .methodType(method.getParameterTypes()[0])
+                        .wrap()
+                        .returnType()));
+            if (retval == null) {
+                final MethodHandle handle =
+                        unreflect(method).asType(ACCEPT_TYPE);
+                retval = (bean, value) -> {
+                    try {
+                        handle.invokeExact(bean, value);
+                    } catch (final Throwable e) { //NOPMD invokeExact throws it.
+                        throw PropertyAccessors
+                            .<RuntimeException>sneakyThrow(e);
+                    }
+                };
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * Spins an implementation of the functional interface calling the method
+     * directly, as fast as a direct call once inlined. Needs full access to
+     * the declaring class.
+     *
+     * @return null when the declaring class cannot be fully accessed.
+     */
+    static Object metafactory(final Method method,
+                                      final Class<?> functional,
+                                      final String name,
+                                      final MethodType erased,
+                                      final MethodType instantiated) {
+        Object retval = null; //NOPMD: null default, conditionally redefine.
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                method.getDeclaringClass(),
+                MethodHandles.lookup());
+            if (lookup.hasFullPrivilegeAccess()) {
+                final CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    name,
+                    MethodType.methodType(functional),
+                    erased,
+                    lookup.unreflect(method),
+                    instantiated);
+                retval = site.getTarget().invoke();
+            }
+        } catch (final IllegalAccessException | LambdaConversionException e) {
+            retval = null;
+        } catch (final Throwable e) { //NOPMD invoke throws Throwable.
+            throw CommonException.wrapperException(e);
+        }
+        return retval;
+    }
+
+    /**
+     * Direct handle of the method, with full access when the declaring class
+     * allows it, otherwise through its accessible flag.
+     */
+    static MethodHandle unreflect(final Method method) {
+        try {
+            MethodHandle retval;
+            try {
+                retval = MethodHandles
+                    .privateLookupIn(
+                        method.getDeclaringClass(),
+                        MethodHandles.lookup())
+                    .unreflect(method);
+            } catch (final IllegalAccessException e) {
+                method.trySetAccessible();
+                retval = MethodHandles.lookup().unreflect(method);
+            }
+            return retval;
+        } catch (final IllegalAccessException e) {
+            throw CommonException.wrapperException(e);
+        }
+    }
+
+    /** Throws a checked exception without declaring it. */
+    @SuppressWarnings("unchecked")
+    static <T extends Throwable> T sneakyThrow(final Throwable thrown)
+            throws T {
+        throw (T) thrown;
+    }
+
+}
@@ -18,9 +18,9 @@ package ph.rye.common.lang;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.lang.reflect.Modifier;
 import java.util.List;
+import java.util.Optional;
 
 import ph.rye.logging.OneLogger;
 
@@ -47,17 +47,24 @@ public final class ReflectUtil {
     public static Field[] getAllFields(final Object bean) {
         assert bean != null;
 
-        final List<Field> retval = new ArrayList<Field>();
-        Class<?> current = bean.getClass();
-        while (!current.equals(Object.class)) {
-            for (final Field field : current.getDeclaredFields()) {
-                retval.add(field);
-            }
-            current = current.getSuperclass();
-        }
+        final List<Field> retval = getFieldList(bean.getClass());
         return retval.toArray(new Field[retval.size()]);
     }
 
+    /**
+     * Returns all fields of a class including inherited, computed once per
+     * class.
+     *
+     * @param type the class whose fields are to be derived. Must not be null.
+     *
+     * @return immutable list of the fields, the class's own first.
+     */
+    public static List<Field> getFieldList(final Class<?> type) {
+        assert type != null;
+
+        return ClassFields.of(type).getFields();
+    }
+
     /**
      * Helper method for calling method on a bean. Exception during target
      * invocation is thrown back to the client code. For primitive typed return,
@@ -71,7 +78,7 @@ public final class ReflectUtil {
      *         InvocationTargetException
      * @throws InvocationTargetException - when an exception is thrown inside
      *             the target object.
-     * @throws NoSuchMethodException
+     * @throws NoSuchMethodException when no method applies to the types.
      */
     public static Object invokeMethod(final Object object,
                                       final String methodName,
@@ -83,31 +90,54 @@ public final class ReflectUtil {
 
         Object retval = null; //NOPMD: null default, conditionally redefine.
         try {
-            final Method method =
-                    getDeclaredOrInheritedMethod(object, methodName, types);
-            if (method != null) {
-
-                if (!method.isAccessible()) {
-                    final Method caller = getDeclaredOrInheritedMethod(
-                        method,
-                        "setAccessible",
-                        new Class<?>[] {
-                                Boolean.TYPE });
-                    caller.invoke(method, new Object[] {
-                            Boolean.TRUE });
-                }
-                retval = method.invoke(object, args);
-            }
+            retval = getMethodInvoker(object.getClass(), methodName, types)
+                .invoke(object, args);
         } catch (final IllegalArgumentException e) {
             LOG1.debug(e.getMessage(), e);
-        } catch (final SecurityException e) {
-            LOG1.debug(e.getMessage(), e);
-        } catch (final IllegalAccessException e) {
-            LOG1.debug(e.getMessage(), e);
         }
         return retval;
     }
 
+    /**
+     * Resolves a method once per class and argument types, declared or
+     * inherited, the way the compiler picks among overloads: subtyping and
+     * primitive widening first, then boxing and unboxing. Misses are cached
+     * too.
+     *
+     * @param type class to resolve the method from. Not null.
+     * @param methodName method name. Not null.
+     * @param types argument types, null for no arguments. A null element
+     *            matches any reference parameter.
+     * @return shared invoker of the most specific method.
+     * @throws NoSuchMethodException when no method applies, or the call is
+     *             ambiguous.
+     */
+    public static MethodInvoker getMethodInvoker(final Class<?> type,
+                                                 final String methodName,
+                                                 final Class<?>... types)
+            throws NoSuchMethodException {
+        assert type != null;
+        assert ObjectUtil.hasValue(methodName);
+
+        return MethodResolver.invoker(type, methodName, types);
+    }
+
+    /**
+     * Like {@link #getMethodInvoker(Class, String, Class...)}, for callers
+     * where a miss is expected. Nothing is thrown on a miss.
+     *
+     * @return empty when no method applies, or the call is ambiguous.
+     */
+    public static Optional<MethodInvoker> lookupMethodInvoker(
+            final Class<?> type, final String methodName,
+            final Class<?>... types) {
+        assert type != null;
+        assert ObjectUtil.hasValue(methodName);
+
+        return Optional
+            .ofNullable(MethodResolver.find(type, methodName, types));
+    }
+
     /**
      * Helper method for calling method on a bean. Exception during target
      * invocation is thrown back to the client code. For primitive typed return,
@@ -121,7 +151,8 @@ public final class ReflectUtil {
      *         InvocationTargetException
      * @throws InvocationTargetException - when an exception is thrown inside
      *             the target object.
-     * @throws NoSuchMethodException
+     * @throws NoSuchMethodException when no static method applies to the
+     *             types.
      */
     @SuppressWarnings("unchecked")
     public static <T> T staticInvokeMethod(final Class<?> klass,
@@ -134,30 +165,60 @@ public final class ReflectUtil {
 
         Object retval = null; //NOPMD: null default, conditionally redefine.
         try {
-            final Method method = klass.getDeclaredMethod(methodName, types);
-            if (method != null) {
-
-                if (!method.isAccessible()) {
-                    final Method caller = getDeclaredOrInheritedMethod(
-                        method,
-                        "setAccessible",
-                        new Class<?>[] {
-                                Boolean.TYPE });
-                    caller.invoke(method, new Object[] {
-                            Boolean.TRUE });
-                }
-                retval = method.invoke(null, args);
-            }
+            retval = getStaticMethodInvoker(klass, methodName, types)
+                .invoke(null, args);
         } catch (final IllegalArgumentException e) {
             LOG1.debug(e.getMessage(), e);
-        } catch (final SecurityException e) {
-            LOG1.debug(e.getMessage(), e);
-        } catch (final IllegalAccessException e) {
-            LOG1.debug(e.getMessage(), e);
         }
         return (T) retval;
     }
 
+    /**
+     * Returns a static method as an implementation of a functional interface,
+     * for call sites invoking the same method repeatedly. The call goes
+     * straight to the method, without reflection, argument arrays or boxing
+     * beyond what the interface itself declares. Exceptions of the method
+     * are thrown as is.
+     *
+     * <pre>
+     * final Function&lt;String, Plugin&gt; factory = ReflectUtil
+     *     .getStaticInvoker(type, "create", Function.class, String.class);
+     * </pre>
+     *
+     * @param klass class declaring or inheriting the method. Not null.
+     * @param methodName method name. Not null.
+     * @param functional interface with a single abstract method taking the
+     *            method parameters. Not null.
+     * @param types argument types, see
+     *            {@link #getMethodInvoker(Class, String, Class...)}.
+     * @return shared implementation of the interface.
+     * @throws NoSuchMethodException when no static method applies to the
+     *             types.
+     */
+    public static <F> F getStaticInvoker(final Class<?> klass,
+                                         final String methodName,
+                                         final Class<F> functional,
+                                         final Class<?>... types)
+            throws NoSuchMethodException {
+        assert klass != null;
+        assert ObjectUtil.hasValue(methodName);
+        assert functional != null;
+
+        return getStaticMethodInvoker(klass, methodName, types).as(functional);
+    }
+
+    private static MethodInvoker getStaticMethodInvoker(final Class<?> klass,
+                                                        final String methodName,
+                                                        final Class<?>[] types)
+            throws NoSuchMethodException {
+        final MethodInvoker retval =
+                MethodResolver.invoker(klass, methodName, types);
+        if (!Modifier.isStatic(retval.getMethod().getModifiers())) {
+            throw Stackless.noSuchMethod(retval + " is not static");
+        }
+        return retval;
+    }
+
     /**
      * Will get the accessible method from the class either declared or
      * inherited. Will attempt to retrieve generic method as well.
@@ -165,11 +226,8 @@ public final class ReflectUtil {
      * @param object - object instance containing the method.
      * @param methName - method name.
      * @param types - argument type for the method.
-     * @return the accessible method. null if no accessible method with the
-     *         correct signature is found.
-     *
-     * @throws SecurityException When the object exist but the calling class do
-     *             not have access to the method.
+     * @return the most specific method, see
+     *         {@link #getMethodInvoker(Class, String, Class...)}.
      *
      * @throws NoSuchMethodException when the method was not found in the passed
      *             object instance.
@@ -178,46 +236,15 @@ public final class ReflectUtil {
                                                final String methName,
                                                final Class<?>[] types)
             throws NoSuchMethodException {
-
-        Class<?> current = object.getClass();
-        final Ano<Method> retval = new Ano<>();
-
-        do {
-            try {
-                retval.set(current.getDeclaredMethod(methName, types));
-            } catch (final NoSuchMethodException nsme) {
-                current = retry(methName, types, current, retval);
-            }
-        } while (current != null && retval == null);
-        return retval.get();
-    }
-
-
-    /**
-     * @param methName
-     * @param types
-     * @param current
-     * @param retval
-     * @return
-     */
-    private static Class<?> retry(final String methName, final Class<?>[] types,
-                                  final Class<?> current,
-                                  final Ano<Method> retval) {
-        @SuppressWarnings("unchecked")
-        final Class<Object>[] objTypes = new Class[types.length];
-        Arrays.fill(objTypes, Object.class);
-        try {
-            retval.set(current.getDeclaredMethod(methName, objTypes));
-        } catch (final NoSuchMethodException nsmeIn) {
-            return current.getSuperclass();
-        }
-        return current;
+        return MethodResolver.invoker(object.getClass(), methName, types)
+            .getMethod();
     }
 
     /**
      * @param bean - the bean whose field is to be derived. Must not be null.
      *
      * @param fieldName field name. Must not be null.
+     * @return the field, a field hides the ones of its superclasses.
      */
     static Field findField(final Object bean, final String fieldName)
             throws NoSuchFieldException {
@@ -225,23 +252,12 @@ public final class ReflectUtil {
         assert bean != null;
         assert fieldName != null;
 
-        final Ano<Field> retval = new Ano<>();
-        Class<?> current = bean.getClass();
-        while (!current.equals(Object.class)) {
-            for (final Field field : current.getDeclaredFields()) {
-                if (field.getName().equals(fieldName)) {
-                    retval.set(field);
-                    break;
-                }
-            }
-            current = current.getSuperclass();
-        }
-
-        if (retval.get() == null) {
-            throw new NoSuchFieldException(fieldName);
+        final Field retval =
+                ClassFields.of(bean.getClass()).getField(fieldName);
+        if (retval == null) {
+            throw Stackless.noSuchField(fieldName);
         }
-
-        return retval.get();
+        return retval;
     }
 
     /**
@@ -250,21 +266,28 @@ public final class ReflectUtil {
      * @param bean - the bean whose properties are to be derived. Must not be
      *            null.
      *
-     * @return - array of bean fields/properties
+     * @return - the field, a field hides the ones of its superclasses. null
+     *         when not found.
      */
     public static Field getField(final Object bean, final String name) {
         assert bean != null;
 
-        final Ano<Field> retval = new Ano<>();
-        Class<?> current = bean.getClass();
-        while (!current.equals(Object.class)) {
-            try {
-                retval.set(current.getDeclaredField(name));
-            } catch (NoSuchFieldException | SecurityException e) {
-                current = current.getSuperclass();
-            }
-        }
-        return retval.get();
+        return ClassFields.of(bean.getClass()).getField(name);
+    }
+
+    /**
+     * Returns field of a class including inherited.
+     *
+     * @param type the class whose field is to be derived. Must not be null.
+     * @param name field name.
+     * @return the field, a field hides the ones of its superclasses. Empty
+     *         when not found.
+     */
+    public static Optional<Field> lookupField(final Class<?> type,
+                                              final String name) {
+        assert type != null;
+
+        return Optional.ofNullable(ClassFields.of(type).getField(name));
     }
 
 
@@ -17,6 +17,7 @@ package ph.rye.common.lang;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.ResourceBundle;
 
 import ph.rye.common.loop.ResourceIter;
@@ -62,7 +63,27 @@ public class ResourceUtil {
 
         final ResourceBundle resourceBundle =
                 ResourceBundle.getBundle(resource);
-        return resourceBundle.getString(resource);
+        return resourceBundle.getString(key);
+    }
+
+    /**
+     * Reads a String using a key, for callers where a missing key is
+     * expected. Nothing is thrown when the key is missing.
+     *
+     * @param resource resource bundle name. Not null, the bundle must exist.
+     * @param key resource key. Not null.
+     * @return empty when the bundle has no such key.
+     */
+    public static Optional<String> findString(final String resource,
+                                              final String key) {
+        assert resource != null;
+        assert key != null;
+
+        final ResourceBundle resourceBundle =
+                ResourceBundle.getBundle(resource);
+        return resourceBundle.containsKey(key)
+                ? Optional.of(resourceBundle.getString(key))
+                : Optional.empty();
     }
 
 }
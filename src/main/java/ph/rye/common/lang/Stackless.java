@@ -0,0 +1,67 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+/**
+ * Lookup misses thrown without a stack trace. A miss is an expected outcome
+ * of the lookups here, the trace would cost more than the lookup itself.
+ *
+ * @author royce
+ */
+final class Stackless {
+
+
+    private Stackless() {}
+
+
+    static NoSuchMethodException noSuchMethod(final String message) {
+        return new NoSuchMethod(message);
+    }
+
+    static NoSuchFieldException noSuchField(final String message) {
+        return new NoSuchField(message);
+    }
+
+
+    private static final class NoSuchMethod extends NoSuchMethodException {
+
+        private static final long serialVersionUID = 1L;
+
+        NoSuchMethod(final String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class NoSuchField extends NoSuchFieldException {
+
+        private static final long serialVersionUID = 1L;
+
+        NoSuchField(final String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+}
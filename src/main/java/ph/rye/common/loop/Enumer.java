@@ -16,7 +16,11 @@
 package ph.rye.common.loop;
 
 import java.util.Enumeration;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author royce
@@ -36,4 +40,22 @@ public class Enumer<T> {
         }
     }
 
+    /**
+     * Elements are read from the enumeration only as they are consumed, which
+     * like {@link #each(Consumer)} can be done once.
+     *
+     * @return ORDERED spliterator of unknown size, split in batches.
+     */
+    public Spliterator<T> spliterator() {
+        return Spliterators
+            .spliteratorUnknownSize(enu.asIterator(), Spliterator.ORDERED);
+    }
+
+    /**
+     * @return lazy stream of the remaining elements.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
 }
@@ -0,0 +1,242 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Fork/join execution shared by the parallel modes of the loop constructs.
+ * The work is split down to a grain, each leaf runs sequentially into its own
+ * accumulator and results are combined in encounter order as tasks join, so
+ * workers never share state.
+ *
+ * @author royce
+ */
+final class ForkJoinLoop {
+
+
+    /** Minimum grain of the parallel modes when none is given. */
+    static final int DEFAULT_GRAIN = 1;
+
+    /** Leaves per worker when the minimum grain does not limit the split. */
+    static final int LEAVES_PER_WORKER = 4;
+
+
+    private ForkJoinLoop() {}
+
+
+    /**
+     * Sequential part of a loop, over the indexes from, inclusive, to to,
+     * exclusive.
+     */
+    @FunctionalInterface
+    interface IndexLeaf<A> {
+        A apply(long from, long to);
+    }
+
+    /**
+     * Sequential part of a loop, over the elements of the part, the first
+     * being at the offset.
+     */
+    @FunctionalInterface
+    interface SpliteratorLeaf<T, A> {
+        A apply(Spliterator<T> part, long offset);
+    }
+
+
+    /**
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of indexes per leaf, at least 1.
+     * @param size number of indexes, from 0.
+     * @return the leaf results, combined in index order.
+     */
+    static <A> A invoke(final ForkJoinPool pool, final int minGrain,
+                        final long size, final IndexLeaf<A> leaf,
+                        final BinaryOperator<A> combiner) {
+        assert pool != null;
+
+        return pool.invoke(
+            new IndexTask<>(
+                0,
+                size,
+                grain(pool.getParallelism(), minGrain, size),
+                leaf,
+                combiner));
+    }
+
+    /**
+     * A spliterator that cannot tell the size of its splits is read in
+     * batches through its iterator instead, so each leaf knows the index of
+     * its first element.
+     *
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of elements per leaf, at least 1.
+     * @param spliterator elements to traverse. Not null.
+     * @return the leaf results, combined in encounter order.
+     */
+    static <T, A> A invoke(final ForkJoinPool pool, final int minGrain,
+                           final Spliterator<T> spliterator,
+                           final SpliteratorLeaf<T, A> leaf,
+                           final BinaryOperator<A> combiner) {
+        assert pool != null;
+        assert spliterator != null;
+
+        Spliterator<T> root = spliterator;
+        if (!root.hasCharacteristics(Spliterator.SUBSIZED)) {
+            root = Spliterators.spliteratorUnknownSize(
+                Spliterators.iterator(spliterator),
+                spliterator.characteristics() & Spliterator.ORDERED);
+        }
+        final long size = root.getExactSizeIfKnown();
+        return pool.invoke(
+            new SpliteratorTask<>(
+                root,
+                0,
+                size < 0
+                        ? grain(1, minGrain, 0)
+                        : grain(pool.getParallelism(), minGrain, size),
+                pool.getParallelism(),
+                minGrain,
+                leaf,
+                combiner));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the minimum grain is less than 1.
+     */
+    static long grain(final int parallelism, final int minGrain,
+                      final long size) {
+        if (minGrain < 1) {
+            throw new IllegalArgumentException("Invalid grain: " + minGrain);
+        }
+        return Math.max(
+            minGrain,
+            size / ((long) parallelism * LEAVES_PER_WORKER));
+    }
+
+
+    /** Splits an index range in halves down to the grain. */
+    private static final class IndexTask<A> extends RecursiveTask<A> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient long from;
+        private final transient long to;
+        private final transient long grain;
+        private final transient IndexLeaf<A> leaf;
+        private final transient BinaryOperator<A> combiner;
+
+        IndexTask(final long from, final long to, final long grain,
+                final IndexLeaf<A> leaf, final BinaryOperator<A> combiner) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            A retval;
+            if (to - from <= grain) {
+                retval = leaf.apply(from, to);
+            } else {
+                final long middle = (from + to) >>> 1;
+                final IndexTask<A> left =
+                        new IndexTask<>(from, middle, grain, leaf, combiner);
+                left.fork();
+                final A right =
+                        new IndexTask<>(middle, to, grain, leaf, combiner)
+                            .compute();
+                retval = combiner.apply(left.join(), right);
+            }
+            return retval;
+        }
+    }
+
+    /**
+     * Forks off prefixes of the spliterator while it is larger than the
+     * grain, then traverses what is left.
+     */
+    private static final class SpliteratorTask<T, A> extends RecursiveTask<A> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Spliterator<T> spliterator;
+        private final transient long offset;
+        private final transient long grain;
+        private final transient int parallelism;
+        private final transient int minGrain;
+        private final transient SpliteratorLeaf<T, A> leaf;
+        private final transient BinaryOperator<A> combiner;
+
+        @SuppressWarnings("PMD.ExcessiveParameterList")
+        SpliteratorTask(final Spliterator<T> spliterator,
+                final long offset,
+                final long grain,
+                final int parallelism,
+                final int minGrain,
+                final SpliteratorLeaf<T, A> leaf,
+                final BinaryOperator<A> combiner) {
+            this.spliterator = spliterator;
+            this.offset = offset;
+            this.grain = grain;
+            this.parallelism = parallelism;
+            this.minGrain = minGrain;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            final boolean sized =
+                    spliterator.hasCharacteristics(Spliterator.SIZED);
+            final List<SpliteratorTask<T, A>> forked = new ArrayList<>();
+            long next = offset;
+            Spliterator<T> prefix;
+            while (spliterator.estimateSize() > grain
+                    && (prefix = spliterator.trySplit()) != null) {
+                final long size = prefix.getExactSizeIfKnown();
+                assert size >= 0;
+
+                final SpliteratorTask<T, A> task = new SpliteratorTask<>(
+                    prefix,
+                    next,
+                    sized ? grain : grain(parallelism, minGrain, size),
+                    parallelism,
+                    minGrain,
+                    leaf,
+                    combiner);
+                task.fork();
+                forked.add(task);
+                next += size;
+            }
+
+            A retval = leaf.apply(spliterator, next);
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                retval = combiner.apply(forked.get(i).join(), retval);
+            }
+            return retval;
+        }
+    }
+
+}
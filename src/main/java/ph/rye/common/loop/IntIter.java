@@ -0,0 +1,113 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import ph.rye.util.function.IntIntConsumer;
+
+/**
+ * Iterates an int array, or a part of it, without boxing. The array is not
+ * copied, changes to it are seen by later iterations.
+ *
+ * Immutable, an instance can be shared and iterated by several threads.
+ *
+ * @author royce
+ */
+@SuppressWarnings("PMD.ShortMethodName")
+public final class IntIter {
+
+
+    private final transient int[] array;
+    private final transient int from;
+    private final transient int to;
+
+
+    private IntIter(final int[] array, final int from, final int to) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @param array array to iterate. Not null.
+     */
+    public static IntIter of(final int... array) {
+        assert array != null;
+
+        return new IntIter(array, 0, array.length);
+    }
+
+    /**
+     * @param array array to iterate. Not null.
+     * @param from first index, inclusive.
+     * @param to last index, exclusive.
+     * @throws IndexOutOfBoundsException when the indexes are out of the array.
+     */
+    public static IntIter of(final int[] array, final int from, final int to) {
+        assert array != null;
+
+        Objects.checkFromToIndex(from, to, array.length);
+        return new IntIter(array, from, to);
+    }
+
+    /**
+     * @param fromIndex first index within this view, inclusive.
+     * @param toIndex last index within this view, exclusive.
+     * @return view of a part of this one, sharing the array.
+     * @throws IndexOutOfBoundsException when the indexes are out of the view.
+     */
+    public IntIter slice(final int fromIndex, final int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size());
+        return new IntIter(array, from + fromIndex, from + toIndex);
+    }
+
+    public void each(final IntConsumer body) {
+        for (int i = from; i < to; i++) {
+            body.accept(array[i]);
+        }
+    }
+
+    /**
+     * @param body receives the index within this view, starting at 0, along
+     *            with the element.
+     */
+    public void eachIndexed(final IntIntConsumer body) {
+        for (int i = from; i < to; i++) {
+            body.accept(i - from, array[i]);
+        }
+    }
+
+    /**
+     * @return SIZED and SUBSIZED spliterator over the view, sharing the array.
+     */
+    public Spliterator.OfInt spliterator() {
+        return Arrays.spliterator(array, from, to);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(array, from, to);
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+}
@@ -0,0 +1,341 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Arithmetic progression of int values, both ends inclusive, iterated without
+ * boxing. A negative step counts down. The end is not part of the range when
+ * the step does not land on it, e.g. of(0, 10, 4) is 0, 4, 8.
+ *
+ * <pre>
+ * IntRange.of(1, 10).each(i -&gt; total[0] += i);
+ * IntRange.of(10, 1, -3).each(i -&gt; ...); // 10, 7, 4, 1
+ * </pre>
+ *
+ * Immutable, an instance can be shared and iterated by several threads.
+ *
+ * @author royce
+ */
+@SuppressWarnings("PMD.ShortMethodName")
+public final class IntRange {
+
+
+    private final transient int first;
+    private final transient int last;
+    private final transient int step;
+    private final transient boolean empty;
+
+
+    private IntRange(final int first, final int last, final int step,
+            final boolean empty) {
+        this.first = first;
+        this.last = last;
+        this.step = step;
+        this.empty = empty;
+    }
+
+    /**
+     * @param start first value.
+     * @param end last value, the range is empty when less than start.
+     */
+    public static IntRange of(final int start, final int end) {
+        return of(start, end, 1);
+    }
+
+    /**
+     * @param start first value.
+     * @param end bound of the last value, inclusive.
+     * @param step difference between two values, negative to count down.
+     * @throws IllegalArgumentException when the step is 0 or
+     *             Integer.MIN_VALUE.
+     */
+    public static IntRange of(final int start, final int end, final int step) {
+        if (step == 0 || step == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Invalid step: " + step);
+        }
+
+        IntRange retval;
+        if (step > 0 ? start > end : start < end) {
+            retval = new IntRange(start, start, step, true);
+        } else {
+            final long span = Math.abs((long) end - start);
+            final long remainder = span % Math.abs(step);
+            retval = new IntRange(
+                start,
+                (int) (step > 0 ? end - remainder : end + remainder),
+                step,
+                false);
+        }
+        return retval;
+    }
+
+    /**
+     * Passes each value of the range to the body, in order.
+     */
+    public void each(final IntConsumer body) {
+        if (!empty) {
+            eachValue(body);
+        }
+    }
+
+    /**
+     * Counted loops where i cannot overflow, these compile best.
+     */
+    private void eachValue(final IntConsumer body) {
+        if (step == 1 && last < Integer.MAX_VALUE) {
+            for (int i = first; i <= last; i++) {
+                body.accept(i);
+            }
+        } else if (step == -1 && last > Integer.MIN_VALUE) {
+            for (int i = first; i >= last; i--) {
+                body.accept(i);
+            }
+        } else {
+            for (int i = first;; i += step) {
+                body.accept(i);
+                if (i == last) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Like {@link #each(IntConsumer)}, in the common pool, in no particular
+     * order.
+     */
+    public void parallelEach(final IntConsumer body) {
+        parallelEach(
+            ForkJoinPool.commonPool(),
+            ForkJoinLoop.DEFAULT_GRAIN,
+            body);
+    }
+
+    /**
+     * Passes each value of the range to the body, splitting the range into
+     * parts run concurrently in the pool. Returns when all are done.
+     *
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of values per part, at least 1. Raise
+     *            it when the body is cheap.
+     * @param body thread-safe loop body. Not null.
+     */
+    public void parallelEach(final ForkJoinPool pool, final int minGrain,
+                             final IntConsumer body) {
+        assert body != null;
+
+        ForkJoinLoop.invoke(pool, minGrain, size(), (from, to) -> {
+            part(from, to).each(body);
+            return null;
+        }, (left, right) -> null);
+    }
+
+    /**
+     * Like
+     * {@link #parallelReduce(ForkJoinPool, int, Supplier, ObjIntConsumer, BinaryOperator)},
+     * in the common pool.
+     */
+    public <A> A parallelReduce(final Supplier<A> supplier,
+                                final ObjIntConsumer<A> accumulator,
+                                final BinaryOperator<A> combiner) {
+        return parallelReduce(
+            ForkJoinPool.commonPool(),
+            ForkJoinLoop.DEFAULT_GRAIN,
+            supplier,
+            accumulator,
+            combiner);
+    }
+
+    /**
+     * Accumulates the values of the range concurrently. Each part of the range
+     * gets its own accumulator, the accumulators are then combined in the
+     * order of the values.
+     *
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of values per part, at least 1.
+     * @param supplier creates an empty accumulator. Not null.
+     * @param accumulator adds a value to an accumulator. Not null.
+     * @param combiner combines two accumulators, the left one holding the
+     *            earlier values. Not null.
+     * @return the combined accumulator, a new one when the range is empty.
+     */
+    public <A> A parallelReduce(final ForkJoinPool pool,
+                                final int minGrain,
+                                final Supplier<A> supplier,
+                                final ObjIntConsumer<A> accumulator,
+                                final BinaryOperator<A> combiner) {
+        assert supplier != null;
+        assert accumulator != null;
+
+        return ForkJoinLoop.invoke(pool, minGrain, size(), (from, to) -> {
+            final A retval = supplier.get();
+            part(from, to).each(value -> accumulator.accept(retval, value));
+            return retval;
+        }, combiner);
+    }
+
+    /**
+     * @param from index of the first value of the part, inclusive.
+     * @param to index of the last value of the part, exclusive.
+     */
+    private IntRange part(final long from, final long to) {
+        return new IntRange(
+            (int) (first + from * step),
+            (int) (first + (to - 1) * step),
+            step,
+            from >= to);
+    }
+
+    /**
+     * @return splits by halves, the values of each half are computed, not
+     *         stored. SORTED when counting up.
+     */
+    public Spliterator.OfInt spliterator() {
+        return new Values(first, step, 0, size());
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    /**
+     * @return the same values in the opposite order.
+     */
+    public IntRange reversed() {
+        return empty ? this : new IntRange(last, first, -step, false);
+    }
+
+    /**
+     * @return number of values.
+     */
+    public long size() {
+        return empty ? 0 : ((long) last - first) / step + 1;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return the first value, the start of the range.
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * @return the last value, meaningless when the range is empty.
+     */
+    public int getLast() {
+        return last;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    @Override
+    public String toString() {
+        return empty ? "[]" : "[" + first + ".." + last + " by " + step + "]";
+    }
+
+
+    /** Values of the range from index, inclusive, to fence, exclusive. */
+    private static final class Values implements Spliterator.OfInt {
+
+        private static final int CHARACTERISTICS = Spliterator.ORDERED
+                | Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.IMMUTABLE | Spliterator.NONNULL
+                | Spliterator.DISTINCT;
+
+        private final transient int first;
+        private final transient int step;
+        private transient long index;
+        private final transient long fence;
+
+        Values(final int first, final int step, final long index,
+                final long fence) {
+            this.first = first;
+            this.step = step;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            final boolean retval = index < fence;
+            if (retval) {
+                action.accept((int) (first + index * step));
+                index++;
+            }
+            return retval;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            for (long i = index; i < fence; i++) {
+                action.accept((int) (first + i * step));
+            }
+            index = fence;
+        }
+
+        @Override
+        public Values trySplit() {
+            final long middle = (index + fence) >>> 1;
+            Values retval = null; //NOPMD: null default, conditionally redefine.
+            if (middle > index) {
+                retval = new Values(first, step, index, middle);
+                index = middle;
+            }
+            return retval;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return step > 0
+                    ? CHARACTERISTICS | Spliterator.SORTED
+                    : CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            if (step < 0) {
+                throw new IllegalStateException("Not sorted");
+            }
+            return null;
+        }
+    }
+
+}
@@ -15,13 +15,25 @@
  */
 package ph.rye.common.loop;
 
-import java.lang.reflect.Array;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import ph.rye.common.lang.ObjectUtil;
+import ph.rye.util.function.IntObjConsumer;
 
 /**
+ * Iterates an iterable, or a copy of an array. Immutable, the index of a
+ * traversal is local to it, so one instance can be shared and iterated by
+ * several threads at once. Not final yet for source compatibility, it will
+ * be once {@link #getIndex()} is removed.
+ *
  * @author royce
  */
 @SuppressWarnings("PMD.ShortMethodName")
@@ -32,8 +44,6 @@ public class Iter<T> {
     private final transient T[] array;
     private final transient int[] iarray;
 
-    private transient int index;
-
     public static <T> Iter<T> of(final Iterable<T> iterable) {
         return new Iter<>(iterable);
     }
@@ -42,25 +52,60 @@ public class Iter<T> {
         return new Iter<>(array);
     }
 
+    /**
+     * Elements are boxed, see {@link IntIter} for iteration without boxing.
+     */
     public static <T> Iter<T> of(final int[] array) {
         return new Iter<>(array);
     }
 
 
+    @SuppressWarnings("unchecked")
     public void each(final Consumer<T> consumer) {
-        for (final T token : iterable) {
-            consumer.accept(token);
+        if (array != null) {
+            for (final T next : array) {
+                consumer.accept(next);
+            }
+        } else if (iterable != null) {
+            for (final T next : iterable) {
+                consumer.accept(next);
+            }
+        } else {
+            for (final int next : iarray) {
+                consumer.accept((T) Integer.valueOf(next));
+            }
         }
     }
 
+    /**
+     * Passes each element with its index, from 0, to the body. The index is
+     * not boxed, elements of an int array are.
+     */
     @SuppressWarnings("unchecked")
-    public void eachWithIndex(final BiConsumer<Integer, T> body) {
-        for (final int token : this.iarray) {
-            body.accept(index, (T) Integer.valueOf(token));
-            index++;
+    public void eachIndexed(final IntObjConsumer<T> iterBody) {
+        if (array != null) {
+            for (int i = 0; i < array.length; i++) {
+                iterBody.accept(i, array[i]);
+            }
+        } else if (iterable != null) {
+            int index = 0;
+            for (final T next : iterable) {
+                iterBody.accept(index++, next);
+            }
+        } else {
+            for (int i = 0; i < iarray.length; i++) {
+                iterBody.accept(i, (T) Integer.valueOf(iarray[i]));
+            }
         }
     }
 
+    /**
+     * Like {@link #eachIndexed(IntObjConsumer)}, with a boxed index.
+     */
+    public void eachWithIndex(final BiConsumer<Integer, T> body) {
+        eachIndexed(body::accept);
+    }
+
     public static <T> void each(final Iterable<T> iterable,
                                 final Consumer<T> consumer) {
         for (final T token : iterable) {
@@ -78,7 +123,6 @@ public class Iter<T> {
         this.iterable = iter;
         this.array = null;
         this.iarray = null;
-        index = 0;
     }
 
     public Iter(final T[] array) {
@@ -87,7 +131,6 @@ public class Iter<T> {
         this.iterable = null;
         this.iarray = null;
         this.array = array.clone();
-        index = 0;
     }
 
     public Iter(final int[] array) {
@@ -95,37 +138,175 @@ public class Iter<T> {
 
         this.iterable = null;
         this.array = null;
-        this.iarray = (int[]) Array.newInstance(Integer.TYPE, array.length);
-        System.arraycopy(array, 0, this.iarray, 0, array.length);
-        index = 0;
+        this.iarray = array.clone();
     }
 
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Same as {@link #eachWithIndex(BiConsumer)}.
+     */
     public void each(final BiConsumer<Integer, T> iterBody) {
-        index = 0;
-        if (ObjectUtil.hasValue(this.array)) {
-            for (final T next : this.array) {
-                iterBody.accept(index, next);
-                index++;
-            }
-        } else if (ObjectUtil.hasValue(iterable)) {
-            for (final T next : iterable) {
-                iterBody.accept(index, next);
-                index++;
-            }
-        } else {
-            for (final int next : iarray) {
-                iterBody.accept(index, (T) Integer.valueOf(next));
-                index++;
-            }
+        eachIndexed(iterBody::accept);
+    }
 
+    /**
+     * @return spliterator of the elements. Arrays, copied when this was
+     *         created, split by halves and are IMMUTABLE. Iterables provide
+     *         their own.
+     */
+    @SuppressWarnings("unchecked")
+    public Spliterator<T> spliterator() {
+        Spliterator<T> retval;
+        if (array != null) {
+            retval = Spliterators.spliterator(
+                array,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        } else if (iterable != null) {
+            retval = iterable.spliterator();
+        } else {
+            //an Iter over an int array holds Integer elements, as each and
+            //eachIndexed assume. Spliterator.OfInt boxes to Integer in its
+            //Consumer taking methods, the only ones a Spliterator<T> sees.
+            retval = (Spliterator<T>) (Spliterator<?>) Spliterators.spliterator(
+                iarray,
+                Spliterator.ORDERED | Spliterator.IMMUTABLE);
         }
+        return retval;
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Like {@link #parallelEach(ForkJoinPool, int, IntObjConsumer)}, in the
+     * common pool.
+     */
+    public void parallelEach(final IntObjConsumer<T> iterBody) {
+        parallelEach(
+            ForkJoinPool.commonPool(),
+            ForkJoinLoop.DEFAULT_GRAIN,
+            iterBody);
+    }
+
+    /**
+     * Passes each element with its index to the body, splitting the elements
+     * into parts run concurrently in the pool. Arrays are split by index,
+     * iterables through their spliterator. Returns when all are done.
+     *
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of elements per part, at least 1. Raise
+     *            it when the body is cheap.
+     * @param iterBody thread-safe loop body. Not null.
+     */
+    public void parallelEach(final ForkJoinPool pool, final int minGrain,
+                             final IntObjConsumer<T> iterBody) {
+        assert iterBody != null;
+
+        forkJoin(pool, minGrain, () -> null, acc -> iterBody, (l, r) -> null);
+    }
+
+    /**
+     * Like
+     * {@link #parallelReduce(ForkJoinPool, int, Supplier, BiConsumer, BinaryOperator)},
+     * in the common pool.
+     */
+    public <A> A parallelReduce(final Supplier<A> supplier,
+                                final BiConsumer<A, ? super T> accumulator,
+                                final BinaryOperator<A> combiner) {
+        return parallelReduce(
+            ForkJoinPool.commonPool(),
+            ForkJoinLoop.DEFAULT_GRAIN,
+            supplier,
+            accumulator,
+            combiner);
+    }
 
+    /**
+     * Accumulates the elements concurrently. Each part of the elements gets
+     * its own accumulator, the accumulators are then combined in the order of
+     * the elements.
+     *
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of elements per part, at least 1.
+     * @param supplier creates an empty accumulator. Not null.
+     * @param accumulator adds an element to an accumulator. Not null.
+     * @param combiner combines two accumulators, the left one holding the
+     *            earlier elements. Not null.
+     * @return the combined accumulator, a new one when there are no elements.
+     */
+    public <A> A parallelReduce(final ForkJoinPool pool,
+                                final int minGrain,
+                                final Supplier<A> supplier,
+                                final BiConsumer<A, ? super T> accumulator,
+                                final BinaryOperator<A> combiner) {
+        assert supplier != null;
+        assert accumulator != null;
+
+        return forkJoin(
+            pool,
+            minGrain,
+            supplier,
+            acc -> (index, next) -> accumulator.accept(acc, next),
+            combiner);
+    }
+
+    /**
+     * @param bodyOf loop body of a part, given the accumulator of the part.
+     */
+    @SuppressWarnings("unchecked")
+    private <A> A forkJoin(final ForkJoinPool pool, final int minGrain,
+                           final Supplier<A> supplier,
+                           final Function<A, IntObjConsumer<T>> bodyOf,
+                           final BinaryOperator<A> combiner) {
+        A retval;
+        if (array != null) {
+            retval = ForkJoinLoop.invoke(pool, minGrain, array.length,
+                (from, to) -> {
+                    final A acc = supplier.get();
+                    final IntObjConsumer<T> body = bodyOf.apply(acc);
+                    for (int i = (int) from; i < to; i++) {
+                        body.accept(i, array[i]);
+                    }
+                    return acc;
+                }, combiner);
+        } else if (iterable != null) {
+            retval = ForkJoinLoop.invoke(pool, minGrain, iterable.spliterator(),
+                (part, offset) -> {
+                    final A acc = supplier.get();
+                    final IntObjConsumer<T> body = bodyOf.apply(acc);
+                    final int[] index = { (int) offset };
+                    part.forEachRemaining(
+                        next -> body.accept(index[0]++, next));
+                    return acc;
+                }, combiner);
+        } else {
+            retval = ForkJoinLoop.invoke(pool, minGrain, iarray.length,
+                (from, to) -> {
+                    final A acc = supplier.get();
+                    final IntObjConsumer<T> body = bodyOf.apply(acc);
+                    for (int i = (int) from; i < to; i++) {
+                        body.accept(i, (T) Integer.valueOf(iarray[i]));
+                    }
+                    return acc;
+                }, combiner);
+        }
+        return retval;
     }
 
+    /**
+     * @return always 0, traversals keep their index locally.
+     * @deprecated the index is passed to the body, see
+     *             {@link #eachIndexed(IntObjConsumer)}. To be removed in the
+     *             next release.
+     */
+    @Deprecated
     public int getIndex() {
-        return index;
+        return 0;
     }
 
 }
@@ -15,8 +15,16 @@
  */
 package ph.rye.common.loop;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * @author royce
@@ -36,9 +44,116 @@ public final class IterM<K, V> {
         return new IterM<>(map);
     }
 
+    /**
+     * Passes each entry to the body through the map's own forEach, without a
+     * lookup per key.
+     */
     public void each(final BiConsumer<K, V> body) {
-        for (final K key : map.keySet()) {
-            body.accept(key, map.get(key));
+        map.forEach(body);
+    }
+
+    /**
+     * Passes the entries accepted by the filter to the body.
+     */
+    public void eachWhere(final BiPredicate<? super K, ? super V> filter,
+                          final BiConsumer<K, V> body) {
+        assert filter != null;
+        assert body != null;
+
+        map.forEach((key, value) -> {
+            if (filter.test(key, value)) {
+                body.accept(key, value);
+            }
+        });
+    }
+
+    /**
+     * Passes the entries to the consumer in batches, in iteration order. The
+     * batch list is reused, its content is valid only during the call.
+     *
+     * @param size entries per batch, the last batch may have fewer.
+     * @param consumer receives each batch. Not null.
+     * @throws IllegalArgumentException when the size is less than 1.
+     */
+    public void eachBatch(final int size,
+                          final Consumer<List<Map.Entry<K, V>>> consumer) {
+        assert consumer != null;
+        if (size < 1) {
+            throw new IllegalArgumentException("Invalid batch size: " + size);
         }
+
+        final List<Map.Entry<K, V>> batch =
+                new ArrayList<>(Math.min(size, map.size()));
+        for (final Map.Entry<K, V> next : map.entrySet()) {
+            batch.add(next);
+            if (batch.size() == size) {
+                consumer.accept(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+
+    /**
+     * Like {@link #parallelEach(long, BiConsumer)}, splitting as far as the
+     * pool allows.
+     */
+    public void parallelEach(final BiConsumer<K, V> body) {
+        parallelEach(ForkJoinLoop.DEFAULT_GRAIN, body);
+    }
+
+    /**
+     * Passes each entry to the body concurrently in the common pool. A
+     * ConcurrentHashMap is traversed with its own parallel forEach, which
+     * tolerates concurrent updates. Other maps, which must not be modified
+     * meanwhile, are split through their entry spliterator.
+     *
+     * @param parallelismThreshold estimated number of entries below which
+     *            the traversal stays sequential, also the minimum number of
+     *            entries per part. At least 1.
+     * @param body thread-safe loop body. Not null.
+     * @throws IllegalArgumentException when the threshold is less than 1.
+     */
+    public void parallelEach(final long parallelismThreshold,
+                             final BiConsumer<K, V> body) {
+        assert body != null;
+        if (parallelismThreshold < 1) {
+            throw new IllegalArgumentException(
+                "Invalid threshold: " + parallelismThreshold);
+        }
+
+        if (map instanceof ConcurrentHashMap) {
+            ((ConcurrentHashMap<K, V>) map).forEach(parallelismThreshold, body);
+        } else if (map.size() < parallelismThreshold) {
+            map.forEach(body);
+        } else {
+            ForkJoinLoop.invoke(
+                ForkJoinPool.commonPool(),
+                (int) Math.min(parallelismThreshold, Integer.MAX_VALUE),
+                map.entrySet().spliterator(),
+                (part, offset) -> {
+                    part.forEachRemaining(
+                        next -> body.accept(next.getKey(), next.getValue()));
+                    return null;
+                },
+                (left, right) -> null);
+        }
+    }
+
+    /**
+     * @return spliterator of the map entries, characterized by the map.
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return map.entrySet().spliterator();
+    }
+
+    public Stream<Map.Entry<K, V>> stream() {
+        return map.entrySet().stream();
+    }
+
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return map.entrySet().parallelStream();
     }
 }
@@ -0,0 +1,348 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Arithmetic progression of long values, both ends inclusive, iterated
+ * without boxing. See {@link IntRange}.
+ *
+ * @author royce
+ */
+@SuppressWarnings("PMD.ShortMethodName")
+public final class LongRange {
+
+
+    private final transient long first;
+    private final transient long last;
+    private final transient long step;
+    private final transient boolean empty;
+
+
+    private LongRange(final long first, final long last, final long step,
+            final boolean empty) {
+        this.first = first;
+        this.last = last;
+        this.step = step;
+        this.empty = empty;
+    }
+
+    /**
+     * @param start first value.
+     * @param end last value, the range is empty when less than start.
+     */
+    public static LongRange of(final long start, final long end) {
+        return of(start, end, 1);
+    }
+
+    /**
+     * @param start first value.
+     * @param end bound of the last value, inclusive.
+     * @param step difference between two values, negative to count down.
+     * @throws IllegalArgumentException when the step is 0 or Long.MIN_VALUE.
+     */
+    public static LongRange of(final long start, final long end,
+                               final long step) {
+        if (step == 0 || step == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Invalid step: " + step);
+        }
+
+        LongRange retval;
+        if (step > 0 ? start > end : start < end) {
+            retval = new LongRange(start, start, step, true);
+        } else {
+            //span may exceed Long.MAX_VALUE, hence unsigned.
+            final long remainder = Long.remainderUnsigned(
+                step > 0 ? end - start : start - end,
+                Math.abs(step));
+            retval = new LongRange(
+                start,
+                step > 0 ? end - remainder : end + remainder,
+                step,
+                false);
+        }
+        return retval;
+    }
+
+    /**
+     * Passes each value of the range to the body, in order.
+     */
+    public void each(final LongConsumer body) {
+        if (!empty) {
+            eachValue(body);
+        }
+    }
+
+    /**
+     * Counted loops where i cannot overflow, these compile best.
+     */
+    private void eachValue(final LongConsumer body) {
+        if (step == 1 && last < Long.MAX_VALUE) {
+            for (long i = first; i <= last; i++) {
+                body.accept(i);
+            }
+        } else if (step == -1 && last > Long.MIN_VALUE) {
+            for (long i = first; i >= last; i--) {
+                body.accept(i);
+            }
+        } else {
+            for (long i = first;; i += step) {
+                body.accept(i);
+                if (i == last) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Like {@link #each(LongConsumer)}, in the common pool, in no particular
+     * order.
+     */
+    public void parallelEach(final LongConsumer body) {
+        parallelEach(
+            ForkJoinPool.commonPool(),
+            ForkJoinLoop.DEFAULT_GRAIN,
+            body);
+    }
+
+    /**
+     * Passes each value of the range to the body, splitting the range into
+     * parts run concurrently in the pool. Returns when all are done.
+     *
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of values per part, at least 1. Raise
+     *            it when the body is cheap.
+     * @param body thread-safe loop body. Not null.
+     */
+    public void parallelEach(final ForkJoinPool pool, final int minGrain,
+                             final LongConsumer body) {
+        assert body != null;
+        assert size() < Long.MAX_VALUE;
+
+        ForkJoinLoop.invoke(pool, minGrain, size(), (from, to) -> {
+            part(from, to).each(body);
+            return null;
+        }, (left, right) -> null);
+    }
+
+    /**
+     * Like
+     * {@link #parallelReduce(ForkJoinPool, int, Supplier, ObjLongConsumer, BinaryOperator)},
+     * in the common pool.
+     */
+    public <A> A parallelReduce(final Supplier<A> supplier,
+                                final ObjLongConsumer<A> accumulator,
+                                final BinaryOperator<A> combiner) {
+        return parallelReduce(
+            ForkJoinPool.commonPool(),
+            ForkJoinLoop.DEFAULT_GRAIN,
+            supplier,
+            accumulator,
+            combiner);
+    }
+
+    /**
+     * Accumulates the values of the range concurrently. Each part of the range
+     * gets its own accumulator, the accumulators are then combined in the
+     * order of the values.
+     *
+     * @param pool pool to run in. Not null.
+     * @param minGrain minimum number of values per part, at least 1.
+     * @param supplier creates an empty accumulator. Not null.
+     * @param accumulator adds a value to an accumulator. Not null.
+     * @param combiner combines two accumulators, the left one holding the
+     *            earlier values. Not null.
+     * @return the combined accumulator, a new one when the range is empty.
+     */
+    public <A> A parallelReduce(final ForkJoinPool pool,
+                                final int minGrain,
+                                final Supplier<A> supplier,
+                                final ObjLongConsumer<A> accumulator,
+                                final BinaryOperator<A> combiner) {
+        assert supplier != null;
+        assert accumulator != null;
+        assert size() < Long.MAX_VALUE;
+
+        return ForkJoinLoop.invoke(pool, minGrain, size(), (from, to) -> {
+            final A retval = supplier.get();
+            part(from, to).each(value -> accumulator.accept(retval, value));
+            return retval;
+        }, combiner);
+    }
+
+    /**
+     * @param from index of the first value of the part, inclusive.
+     * @param to index of the last value of the part, exclusive.
+     */
+    private LongRange part(final long from, final long to) {
+        return new LongRange(
+            first + from * step,
+            first + (to - 1) * step,
+            step,
+            from >= to);
+    }
+
+    /**
+     * @return splits by halves, the values of each half are computed, not
+     *         stored. SORTED when counting up.
+     */
+    public Spliterator.OfLong spliterator() {
+        assert size() < Long.MAX_VALUE;
+
+        return new Values(first, step, 0, size());
+    }
+
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    public LongStream parallelStream() {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    /**
+     * @return the same values in the opposite order.
+     */
+    public LongRange reversed() {
+        return empty ? this : new LongRange(last, first, -step, false);
+    }
+
+    /**
+     * @return number of values, Long.MAX_VALUE when there are more.
+     */
+    public long size() {
+        long retval = 0;
+        if (!empty) {
+            final long steps = Long.divideUnsigned(
+                step > 0 ? last - first : first - last,
+                Math.abs(step));
+            retval = steps < 0 || steps == Long.MAX_VALUE
+                    ? Long.MAX_VALUE
+                    : steps + 1;
+        }
+        return retval;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return the first value, the start of the range.
+     */
+    public long getFirst() {
+        return first;
+    }
+
+    /**
+     * @return the last value, meaningless when the range is empty.
+     */
+    public long getLast() {
+        return last;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    @Override
+    public String toString() {
+        return empty ? "[]" : "[" + first + ".." + last + " by " + step + "]";
+    }
+
+
+    /** Values of the range from index, inclusive, to fence, exclusive. */
+    private static final class Values implements Spliterator.OfLong {
+
+        private static final int CHARACTERISTICS = Spliterator.ORDERED
+                | Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.IMMUTABLE | Spliterator.NONNULL
+                | Spliterator.DISTINCT;
+
+        private final transient long first;
+        private final transient long step;
+        private transient long index;
+        private final transient long fence;
+
+        Values(final long first, final long step, final long index,
+                final long fence) {
+            this.first = first;
+            this.step = step;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            final boolean retval = index < fence;
+            if (retval) {
+                action.accept((first + index * step));
+                index++;
+            }
+            return retval;
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action) {
+            for (long i = index; i < fence; i++) {
+                action.accept((first + i * step));
+            }
+            index = fence;
+        }
+
+        @Override
+        public Values trySplit() {
+            final long middle = (index + fence) >>> 1;
+            Values retval = null; //NOPMD: null default, conditionally redefine.
+            if (middle > index) {
+                retval = new Values(first, step, index, middle);
+                index = middle;
+            }
+            return retval;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return step > 0
+                    ? CHARACTERISTICS | Spliterator.SORTED
+                    : CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            if (step < 0) {
+                throw new IllegalStateException("Not sorted");
+            }
+            return null;
+        }
+    }
+
+}
@@ -15,7 +15,14 @@
  */
 package ph.rye.common.loop;
 
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * @author royce
@@ -39,6 +46,70 @@ public final class Range<T> {
         }
     }
 
+    /**
+     * Like {@link #each(BiConsumer)}, without boxing the index. See
+     * {@link IntRange} for steps and reverse ranges.
+     */
+    public void each(final IntConsumer rangeBody) {
+        IntRange.of(start, end).each(rangeBody);
+    }
+
+    /**
+     * See {@link IntRange#parallelEach(IntConsumer)}.
+     */
+    public void parallelEach(final IntConsumer rangeBody) {
+        IntRange.of(start, end).parallelEach(rangeBody);
+    }
+
+    /**
+     * See {@link IntRange#parallelEach(ForkJoinPool, int, IntConsumer)}.
+     */
+    public void parallelEach(final ForkJoinPool pool, final int minGrain,
+                             final IntConsumer rangeBody) {
+        IntRange.of(start, end).parallelEach(pool, minGrain, rangeBody);
+    }
+
+    /**
+     * See
+     * {@link IntRange#parallelReduce(Supplier, ObjIntConsumer, BinaryOperator)}.
+     */
+    public <A> A parallelReduce(final Supplier<A> supplier,
+                                final ObjIntConsumer<A> accumulator,
+                                final BinaryOperator<A> combiner) {
+        return IntRange
+            .of(start, end)
+            .parallelReduce(supplier, accumulator, combiner);
+    }
+
+    /**
+     * See
+     * {@link IntRange#parallelReduce(ForkJoinPool, int, Supplier, ObjIntConsumer, BinaryOperator)}.
+     */
+    public <A> A parallelReduce(final ForkJoinPool pool,
+                                final int minGrain,
+                                final Supplier<A> supplier,
+                                final ObjIntConsumer<A> accumulator,
+                                final BinaryOperator<A> combiner) {
+        return IntRange
+            .of(start, end)
+            .parallelReduce(pool, minGrain, supplier, accumulator, combiner);
+    }
+
+    /**
+     * See {@link IntRange#spliterator()}.
+     */
+    public Spliterator.OfInt spliterator() {
+        return IntRange.of(start, end).spliterator();
+    }
+
+    public IntStream stream() {
+        return IntRange.of(start, end).stream();
+    }
+
+    public IntStream parallelStream() {
+        return IntRange.of(start, end).parallelStream();
+    }
+
 
     /**
      * @return the start
@@ -18,9 +18,13 @@ package ph.rye.common.loop;
 import java.util.Enumeration;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Resource reader. Iterates with keys that have the format key_n_n.
@@ -53,23 +57,59 @@ public class ResourceIter {
     }
 
     public void each(final MultiIndexLoopBody loopBody, final String key) {
+        for (final Element next : elements(key)) {
+            loopBody.next(next.value, next.index);
+        }
+    }
+
+    public void each(final MultiIndexLoopBody loopBody) {
+        each(loopBody, null);
+    }
+
+    /**
+     * @param key key prefix, null for any.
+     * @return spliterator of the matching values, in the order of
+     *         {@link #each(MultiIndexLoopBody, String)}. The bundle is read
+     *         when this is called.
+     */
+    public Spliterator<Element> spliterator(final String key) {
+        return Spliterators.spliterator(
+            elements(key),
+            Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * @param key key prefix, null for any.
+     */
+    public Stream<Element> stream(final String key) {
+        return StreamSupport.stream(spliterator(key), false);
+    }
+
+    public Stream<Element> stream() {
+        return stream(null);
+    }
+
+    /**
+     * @return values of the matching keys, sorted by key and index.
+     */
+    private Element[] elements(final String key) {
 
         final ResourceBundle resourceBundle =
                 ResourceBundle.getBundle(resourceName);
 
+        String patternStr;
+        if (key == null) {
+            patternStr = "[A-Za-z_]" + PATTERN_INDEX;
+        } else {
+            patternStr = key + PATTERN_INDEX;
+        }
+        final Pattern pattern = Pattern.compile(patternStr);
+
         final Map<String, String> sortToKeyTreeMap = new TreeMap<>();
         for (final Enumeration<String> en = resourceBundle.getKeys(); en
             .hasMoreElements();) {
 
             final String next = en.nextElement();
-            String patternStr;
-            if (key == null) {
-                patternStr = "[A-Za-z_]" + PATTERN_INDEX;
-            } else {
-                patternStr = key + PATTERN_INDEX;
-            }
-
-            final Pattern pattern = Pattern.compile(patternStr);
             final Matcher matcher = pattern.matcher(next);
             if (matcher.find()) {
                 final int indexPos = next.indexOf('_');
@@ -81,21 +121,18 @@ public class ResourceIter {
 
         }
 
-        for (final String sortableKey : sortToKeyTreeMap.keySet()) {
-
-            final String actualKey = sortToKeyTreeMap.get(sortableKey);
+        final Element[] retval = new Element[sortToKeyTreeMap.size()];
+        int count = 0;
+        for (final String actualKey : sortToKeyTreeMap.values()) {
 
             final String indexStr =
                     actualKey.substring(actualKey.indexOf('_') + 1);
 
-            final int[] indexArr = toIntArray(indexStr.split("_"));
-            loopBody.next(resourceBundle.getString(actualKey).trim(), indexArr);
+            retval[count++] = new Element(
+                resourceBundle.getString(actualKey).trim(),
+                toIntArray(indexStr.split("_")));
         }
-
-    }
-
-    public void each(final MultiIndexLoopBody loopBody) {
-        each(loopBody, null);
+        return retval;
     }
 
     @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
@@ -124,4 +161,33 @@ public class ResourceIter {
         return string.replaceAll(pattern, replaceWith);
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Value of a key in the format key_n_n, with its indexes.
+     */
+    public static final class Element {
+
+        private final transient String value;
+        private final transient int[] index;
+
+        Element(final String value, final int[] index) {
+            this.value = value;
+            this.index = index;
+        }
+
+        /**
+         * @return the trimmed value.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return the indexes of the key, {1, 2} for key_1_2.
+         */
+        public int[] getIndex() {
+            return index.clone();
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+/**
+ * Destination of OneLogger events.
+ *
+ * @author royce
+ */
+interface Appender {
+
+    /**
+     * Accepts an event. May buffer until {@link #flush()}. The event instance
+     * is reused by the caller once this returns.
+     *
+     * @param event event to write.
+     */
+    void append(LogEvent event);
+
+    /** Writes out anything buffered by {@link #append(LogEvent)}. */
+    void flush();
+
+    /** Flushes and releases resources. */
+    void close();
+
+}
@@ -0,0 +1,333 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands events to a single background writer thread through a bounded,
+ * pre-allocated ring buffer. Producers claim a slot with a CAS on the tail
+ * and publish it through the slot sequence; the writer drains published
+ * slots in batches into the delegate and flushes once per batch.
+ *
+ * @author royce
+ */
+final class AsyncAppender implements Appender {
+
+
+    /** What a producer does when the ring buffer is full. */
+    enum Overflow {
+        /** Wait for the writer to free a slot. */
+        BLOCK,
+        /** Discard the event being logged. */
+        DROP_NEWEST,
+        /** Discard the event being logged and report the count. */
+        DROP_AND_COUNT;
+
+        /**
+         * @param value one of block, dropNewest or dropAndCount, case
+         *            insensitive.
+         * @return BLOCK for null or unknown values.
+         */
+        static Overflow parse(final String value) {
+            final String key = value == null ? ""
+                    : value.trim().toLowerCase(Locale.ENGLISH);
+
+            Overflow retval = BLOCK;
+            if ("dropnewest".equals(key)) {
+                retval = DROP_NEWEST;
+            } else if ("dropandcount".equals(key)) {
+                retval = DROP_AND_COUNT;
+            }
+            return retval;
+        }
+    }
+
+
+    /** Default ring buffer capacity. */
+    static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    /** Maximum events written between flushes. */
+    private static final int MAX_BATCH = 256;
+
+    /** Writer back-off when the ring buffer is empty. */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Producer back-off when blocked on a full ring buffer. */
+    private static final long FULL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** Time given to the writer to drain on close. */
+    private static final long CLOSE_MILLIS = 5000;
+
+
+    private final transient Appender delegate;
+    private final transient Overflow overflow;
+
+    private final transient LogEvent[] slots;
+
+    /**
+     * Per slot sequence. Equals the claim position when free, position + 1
+     * when published.
+     */
+    private final transient AtomicLongArray sequences;
+    private final transient int mask;
+
+    /** Next position to claim by producers. */
+    private final transient AtomicLong tail = new AtomicLong();
+
+    /** Next position to drain. Only advanced by the writer. */
+    private transient volatile long head;
+
+    private final transient LongAdder dropped = new LongAdder();
+
+    /** Used by the writer to report dropped events. */
+    private final transient LogEvent droppedEvent = new LogEvent();
+
+    private transient volatile boolean running = true;
+
+    /**
+     * Producers past their check of running, not done publishing yet. Close
+     * waits for them before its final drain.
+     */
+    private final transient AtomicInteger inFlight = new AtomicInteger();
+
+    private final transient Thread writer;
+    private final transient Thread shutdownHook;
+
+
+    /**
+     * @param delegate receives the events on the writer thread.
+     * @param bufferSize ring capacity, rounded up to a power of two.
+     * @param overflow full buffer policy.
+     */
+    AsyncAppender(final Appender delegate, final int bufferSize,
+                  final Overflow overflow) {
+        assert delegate != null;
+        assert overflow != null;
+
+        this.delegate = delegate;
+        this.overflow = overflow;
+
+        final int capacity = Integer
+            .highestOneBit(Math.max(2, bufferSize - 1) << 1);
+        mask = capacity - 1;
+        slots = new LogEvent[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+
+        writer = new Thread(this::drainLoop, "log4one-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        shutdownHook = new Thread(this::close, "log4one-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+
+    @Override
+    public void append(final LogEvent event) {
+        inFlight.incrementAndGet();
+        try {
+            boolean published = running && tryPublish(event);
+            while (!published) {
+                if (!running) {
+                    appendDirect(event);
+                    break;
+                }
+
+                if (overflow == Overflow.BLOCK) {
+                    LockSupport.parkNanos(this, FULL_NANOS);
+                    published = tryPublish(event);
+                } else {
+                    if (overflow == Overflow.DROP_AND_COUNT) {
+                        dropped.increment();
+                    }
+                    break;
+                }
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until everything enqueued before this call has been written.
+     */
+    @Override
+    public void flush() {
+        final long target = tail.get();
+        while (head < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, IDLE_NANOS);
+        }
+    }
+
+    /**
+     * Drains what is left and stops the writer. Safe to call twice, from any
+     * number of threads: every caller returns only after the drain is done,
+     * so the shutdown hooks may close the log file right after. The delegate
+     * is flushed, not closed, it belongs to the logger.
+     */
+    @Override
+    public synchronized void close() {
+        if (running) {
+            running = false;
+            LockSupport.unpark(writer);
+            try {
+                writer.join(CLOSE_MILLIS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (Thread.currentThread() != shutdownHook) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (final IllegalStateException ise) { //NOPMD Reviewed.
+                    //already shutting down.
+                }
+            }
+
+            //a producer that saw running before it was cleared may still be
+            //publishing, after the writer's last drain.
+            while (inFlight.get() != 0) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+            drain(Integer.MAX_VALUE);
+            flushDelegate();
+        }
+    }
+
+    private boolean tryPublish(final LogEvent event) {
+        long pos = tail.get();
+        boolean retval = false; //NOPMD: false default, conditionally redefine.
+        while (true) {
+            final int index = (int) pos & mask;
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index].copyFrom(event);
+                    sequences.lazySet(index, pos + 1);
+                    retval = true;
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                break;
+            } else {
+                pos = tail.get();
+            }
+        }
+        return retval;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain(MAX_BATCH) == 0) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            }
+        }
+        drain(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Holds the delegate's lock, the closing thread and late direct appends
+     * may run along with the writer.
+     *
+     * @param max maximum number of events to drain.
+     * @return number of events drained.
+     */
+    private int drain(final int max) {
+        synchronized (delegate) {
+            return drainLocked(max);
+        }
+    }
+
+    private int drainLocked(final int max) {
+        int count = 0;
+        long pos = head;
+        while (count < max) {
+            final int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                break;
+            }
+
+            final LogEvent slot = slots[index];
+            try {
+                delegate.append(slot);
+            } catch (final RuntimeException e) {
+                e.printStackTrace(OneLogger.ORIG_ERR_STREAM);
+            } finally {
+                slot.clear();
+                sequences.lazySet(index, pos + mask + 1);
+            }
+            pos++;
+            count++;
+        }
+
+        final long droppedCount = dropped.sumThenReset();
+        if (droppedCount > 0) {
+            try {
+                delegate.append(
+                    droppedEvent.set(
+                        System.currentTimeMillis(),
+                        OneLogger.Level.WARN,
+                        null,
+                        null,
+                        0,
+                        null,
+                        droppedCount + " log events dropped, ring buffer full.",
+                        null));
+            } catch (final RuntimeException e) {
+                e.printStackTrace(OneLogger.ORIG_ERR_STREAM);
+            } finally {
+                droppedEvent.clear();
+            }
+        }
+
+        if (count > 0 || droppedCount > 0) {
+            flushDelegate();
+        }
+        head = pos;
+        return count;
+    }
+
+    /** A failing delegate must not stop the writer. */
+    private void flushDelegate() {
+        try {
+            delegate.flush();
+        } catch (final RuntimeException e) {
+            e.printStackTrace(OneLogger.ORIG_ERR_STREAM);
+        }
+    }
+
+    /** Used once closed, so late events still reach the delegate. */
+    private void appendDirect(final LogEvent event) {
+        synchronized (delegate) {
+            delegate.append(event);
+            delegate.flush();
+        }
+    }
+
+}
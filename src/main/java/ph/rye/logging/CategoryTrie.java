@@ -0,0 +1,95 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Package segment trie of log categories. A category like "ph.rye.common"
+ * applies to every class under that package, and the most specific category
+ * wins. Nested classes resolve through their enclosing class.
+ *
+ * Not thread safe while being built, publish it only once populated.
+ *
+ * @param <V> value type assigned to categories.
+ * @author royce
+ */
+final class CategoryTrie<V> {
+
+
+    private final transient Node<V> root = new Node<>();
+
+
+    private static final class Node<V> {
+
+        private final transient Map<String, Node<V>> children =
+                new HashMap<>();
+
+        private transient V value;
+    }
+
+
+    /**
+     * @param category package or class name prefix. Not null.
+     * @param value value for the category, replaces any previous value.
+     */
+    void put(final String category, final V value) {
+        assert category != null;
+
+        Node<V> node = root;
+        int start = 0;
+        while (start < category.length()) {
+            final int end = nextSeparator(category, start);
+            node = node.children
+                .computeIfAbsent(category.substring(start, end), k -> new Node<>());
+            start = end + 1;
+        }
+        node.value = value;
+    }
+
+    /**
+     * @param className fully qualified class name. Not null.
+     * @return value of the most specific category of the class, null when no
+     *         category applies.
+     */
+    V resolve(final String className) {
+        assert className != null;
+
+        Node<V> node = root;
+        V retval = root.value;
+        int start = 0;
+        while (node != null && start < className.length()) {
+            final int end = nextSeparator(className, start);
+            node = node.children.get(className.substring(start, end));
+            if (node != null && node.value != null) {
+                retval = node.value;
+            }
+            start = end + 1;
+        }
+        return retval;
+    }
+
+    private static int nextSeparator(final String name, final int from) {
+        int index = from;
+        while (index < name.length() && name.charAt(index) != '.'
+                && name.charAt(index) != '$') {
+            index++;
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches a single file from a daemon thread and calls back once it has been
+ * changed. Bursts of events, as editors save in several steps, are coalesced
+ * into one call.
+ *
+ * @author royce
+ */
+final class ConfigWatcher {
+
+
+    /** Quiet time after the last event before calling back. */
+    private static final long SETTLE_MILLIS = 100;
+
+
+    private final transient Path file;
+    private final transient Consumer<Path> onChange;
+    private final transient WatchService service;
+    private final transient Thread thread;
+
+
+    /**
+     * @param file file to watch, its directory must exist.
+     * @param onChange called with the file on the watcher thread.
+     * @throws IOException when the directory cannot be watched.
+     */
+    ConfigWatcher(final Path file, final Consumer<Path> onChange)
+            throws IOException {
+        assert file != null;
+        assert onChange != null;
+
+        this.file = file.toAbsolutePath();
+        this.onChange = onChange;
+
+        service = FileSystems.getDefault().newWatchService();
+        this.file
+            .getParent()
+            .register(
+                service,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        thread = new Thread(this::watchLoop, "log4one-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+
+    /** Stops watching. */
+    void close() {
+        try {
+            service.close();
+        } catch (final IOException e) { //NOPMD Reviewed.
+            //nothing to release.
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                boolean changed = isChanged(service.take());
+                WatchKey next = poll();
+                while (next != null) {
+                    changed |= isChanged(next);
+                    next = poll();
+                }
+
+                if (changed) {
+                    onChange.accept(file);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ClosedWatchServiceException e) { //NOPMD Reviewed.
+            //closed.
+        }
+    }
+
+    private WatchKey poll() throws InterruptedException {
+        return service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Drains the key and resets it for the next events. */
+    private boolean isChanged(final WatchKey key) {
+        boolean retval = false; //NOPMD: false default, conditionally redefine.
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (file.getFileName().equals(event.context())) {
+                retval = true;
+            }
+        }
+        key.reset();
+        return retval;
+    }
+
+}
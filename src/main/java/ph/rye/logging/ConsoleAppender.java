@@ -0,0 +1,81 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.io.PrintStream;
+
+/**
+ * Writes WARN and ERROR to standard error, everything else to standard output.
+ * Lines are collected per stream and written once per flush, so a batch from
+ * the async writer costs one write per stream.
+ *
+ * @author royce
+ */
+final class ConsoleAppender implements Appender {
+
+
+    /** Initial capacity of the per stream line buffers. */
+    private static final int BUFFER_SIZE = 1024;
+
+
+    private final transient OneLogger logger;
+
+    @SuppressWarnings("PMD.AvoidStringBufferField" /* Reused across flushes. */)
+    private final transient StringBuilder outBuffer =
+            new StringBuilder(BUFFER_SIZE);
+
+    @SuppressWarnings("PMD.AvoidStringBufferField" /* Reused across flushes. */)
+    private final transient StringBuilder errBuffer =
+            new StringBuilder(BUFFER_SIZE);
+
+
+    ConsoleAppender(final OneLogger logger) {
+        this.logger = logger;
+    }
+
+
+    @Override
+    public synchronized void append(final LogEvent event) {
+        if (OneLogger.Level.ERROR == event.level
+                || OneLogger.Level.WARN == event.level) {
+            logger.format(event, errBuffer);
+        } else {
+            logger.format(event, outBuffer);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        write(OneLogger.ORIG_ERR_STREAM, errBuffer);
+        write(OneLogger.ORIG_STREAM, outBuffer);
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    private static void write(final PrintStream stream,
+                              final StringBuilder buffer) {
+        if (buffer.length() > 0) {
+            stream.print(buffer);
+            stream.flush();
+            buffer.setLength(0);
+        }
+    }
+
+}
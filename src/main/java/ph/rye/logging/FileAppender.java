@@ -0,0 +1,412 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends to a log file through a FileChannel and a direct buffer. Lines are
+ * encoded into the buffer and written when it fills up, on roll, on flush or
+ * on close, so both the async writer and synchronous logging issue one write
+ * per batch. Rolls by size and by time, renaming the current file with a
+ * timestamp suffix. A file that cannot be renamed is written on, the roll is
+ * retried a minute later.
+ *
+ * Interval fsync is checked on append and flush, and by a timer, so lines
+ * written before a quiet period still reach the disk.
+ *
+ * @author royce
+ */
+final class FileAppender implements Appender {
+
+
+    /** Never roll by time. */
+    static final long NO_ROLL = 0;
+
+    /** Never fsync. */
+    static final long FSYNC_NONE = -1;
+
+    /** fsync only when rolling. */
+    static final long FSYNC_ON_ROLL = 0;
+
+    private static final long KILO = 1024;
+
+    /** Chars below this encode as a single byte in UTF-8. */
+    private static final char ASCII_LIMIT = 0x80;
+
+    private static final DateTimeFormatter ROLL_SUFFIX = DateTimeFormatter
+        .ofPattern("yyyyMMdd-HHmmss", Locale.ENGLISH);
+
+    /** Interval of the daily roll. */
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    /** Interval of the hourly roll. */
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    /** Wait before rolling again after a failed rename. */
+    private static final long ROLL_RETRY = TimeUnit.MINUTES.toMillis(1);
+
+
+    private final transient OneLogger logger;
+    private final transient Path path;
+    private final transient long maxSize;
+    private final transient long rollMillis;
+    private final transient long fsyncMillis;
+
+    private final transient ByteBuffer buffer;
+    private final transient CharsetEncoder encoder = StandardCharsets.UTF_8
+        .newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    @SuppressWarnings("PMD.AvoidStringBufferField" /* Reused per line. */)
+    private final transient StringBuilder line = new StringBuilder(256);
+
+    /** Reused bytes of an ASCII line. */
+    private transient byte[] ascii = new byte[256];
+
+    private transient FileChannel channel;
+
+    /** Bytes written to the file, not counting the buffer. */
+    private transient long size;
+
+    private transient long nextRoll;
+    private transient long lastSync;
+
+    /** No roll before this, set when a rename failed. */
+    private transient long retryRoll;
+
+    /** Bytes written since the last fsync. */
+    private transient boolean unsynced;
+
+    /** Interval fsync of a quiet file, null without interval fsync. */
+    private final transient ScheduledExecutorService timer;
+
+
+    /**
+     * @param logger formats the lines.
+     * @param path log file, appended to when it exists.
+     * @param maxSize roll when the file reaches this size in bytes.
+     * @param rollMillis roll interval, one of DAY, HOUR, NO_ROLL or any number
+     *            of millis.
+     * @param fsyncMillis FSYNC_NONE, FSYNC_ON_ROLL or the interval between
+     *            fsync in millis.
+     * @param bufferSize direct buffer size in bytes.
+     * @throws IOException when the file cannot be opened.
+     */
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    FileAppender(final OneLogger logger, final Path path, final long maxSize,
+                 final long rollMillis, final long fsyncMillis,
+                 final int bufferSize)
+            throws IOException {
+        assert logger != null;
+        assert path != null;
+
+        this.logger = logger;
+        this.path = path.toAbsolutePath();
+        this.maxSize = maxSize;
+        this.rollMillis = rollMillis;
+        this.fsyncMillis = fsyncMillis;
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+
+        open(System.currentTimeMillis());
+
+        if (fsyncMillis > 0) {
+            timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "log4one-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.scheduleWithFixedDelay(
+                this::flush,
+                fsyncMillis,
+                fsyncMillis,
+                TimeUnit.MILLISECONDS);
+        } else {
+            timer = null;
+        }
+    }
+
+
+    @Override
+    public synchronized void append(final LogEvent event) {
+        try {
+            if (channel != null) {
+                if ((size + buffer.position() >= maxSize
+                        || event.timestamp >= nextRoll)
+                        && event.timestamp >= retryRoll) {
+                    roll(event.timestamp);
+                }
+
+                line.setLength(0);
+                logger.format(event, line);
+                encode(line);
+                syncIfDue(event.timestamp);
+            }
+        } catch (final IOException e) {
+            failed(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            if (channel != null) {
+                writeBuffer();
+                syncIfDue(System.currentTimeMillis());
+            }
+        } catch (final IOException e) {
+            failed(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (timer != null) {
+            timer.shutdown();
+        }
+        try {
+            if (channel != null) {
+                writeBuffer();
+                if (fsyncMillis != FSYNC_NONE) {
+                    channel.force(false);
+                }
+                channel.close();
+                channel = null;
+            }
+        } catch (final IOException e) {
+            failed(e);
+        }
+    }
+
+    /**
+     * Lines are usually ASCII, those are copied as bytes in bulk. Anything
+     * else goes through the UTF-8 encoder.
+     */
+    private void encode(final StringBuilder chars) throws IOException {
+        final int length = chars.length();
+        if (ascii.length < length) {
+            ascii = new byte[Math.max(length, ascii.length * 2)];
+        }
+
+        int index = 0;
+        while (index < length && chars.charAt(index) < ASCII_LIMIT) {
+            ascii[index] = (byte) chars.charAt(index);
+            index++;
+        }
+
+        if (index == length) {
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) {
+                    writeBuffer();
+                }
+                final int count = Math.min(length - offset, buffer.remaining());
+                buffer.put(ascii, offset, count);
+                offset += count;
+            }
+        } else {
+            encode(CharBuffer.wrap(chars));
+        }
+    }
+
+    private void encode(final CharBuffer chars) throws IOException {
+        encoder.reset();
+        CoderResult result = encoder.encode(chars, buffer, true);
+        while (result.isOverflow()) {
+            writeBuffer();
+            result = encoder.encode(chars, buffer, true);
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            writeBuffer();
+        }
+    }
+
+    /**
+     * Interval fsync, checked on every line so it holds between flushes. The
+     * buffer is written first, what was appended before now is on disk.
+     */
+    private void syncIfDue(final long now) throws IOException {
+        if (fsyncMillis > 0 && now - lastSync >= fsyncMillis) {
+            writeBuffer();
+            if (unsynced) {
+                channel.force(false);
+                unsynced = false;
+            }
+            lastSync = now;
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        unsynced |= buffer.hasRemaining();
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void open(final long now) throws IOException {
+        channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        size = channel.size();
+        lastSync = now;
+        unsynced = false;
+        nextRoll = nextRoll(now);
+    }
+
+    private void roll(final long now) throws IOException {
+        writeBuffer();
+        if (fsyncMillis != FSYNC_NONE) {
+            channel.force(false);
+        }
+        channel.close();
+
+        final String suffix = ROLL_SUFFIX.format(
+            LocalDateTime
+                .ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()));
+        Path target = path.resolveSibling(path.getFileName() + "." + suffix);
+        for (int i = 1; Files.exists(target); i++) {
+            target = path
+                .resolveSibling(path.getFileName() + "." + suffix + "." + i);
+        }
+        try {
+            Files.move(path, target);
+        } catch (final IOException e) {
+            retryRoll = now + ROLL_RETRY;
+            OneLogger.ORIG_ERR_STREAM.println(
+                "log4one: unable to roll " + path + ", writing on to it: "
+                        + e);
+        }
+
+        open(now);
+    }
+
+    /** Daily and hourly rolls happen on the hour, others from now. */
+    private long nextRoll(final long now) {
+        long retval = Long.MAX_VALUE;
+        if (rollMillis == DAY || rollMillis == HOUR) {
+            final ZoneId zone = ZoneId.systemDefault();
+            final LocalDateTime current =
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(now), zone);
+            final LocalDateTime next = rollMillis == DAY
+                    ? current.truncatedTo(ChronoUnit.DAYS).plusDays(1)
+                    : current.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            retval = next.atZone(zone).toInstant().toEpochMilli();
+        } else if (rollMillis != NO_ROLL) {
+            retval = now + rollMillis;
+        }
+        return retval;
+    }
+
+    /** Reports once and stops writing, logging must not fail the caller. */
+    private void failed(final IOException exception) {
+        OneLogger.ORIG_ERR_STREAM
+            .println("log4one: disabling file output " + path);
+        exception.printStackTrace(OneLogger.ORIG_ERR_STREAM);
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (final IOException e) { //NOPMD Reviewed.
+            //already reported.
+        }
+        channel = null;
+        buffer.clear();
+    }
+
+    /**
+     * @param value bytes, with an optional K, M or G suffix.
+     * @param defaultValue used when value is null or empty.
+     */
+    static long parseSize(final String value, final long defaultValue) {
+        long retval = defaultValue;
+        final String trimmed = value == null ? ""
+                : value.trim().toUpperCase(Locale.ENGLISH);
+        if (!trimmed.isEmpty()) {
+            final char unit = trimmed.charAt(trimmed.length() - 1);
+            final int shift = "KMG".indexOf(unit) + 1;
+            final String number = shift == 0 ? trimmed
+                    : trimmed.substring(0, trimmed.length() - 1).trim();
+            retval = Long.parseLong(number);
+            for (int i = 0; i < shift; i++) {
+                retval *= KILO;
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * @param value daily, hourly or millis. 0 or empty for no time roll.
+     */
+    static long parseRollInterval(final String value) {
+        final String key = value == null ? ""
+                : value.trim().toLowerCase(Locale.ENGLISH);
+
+        long retval;
+        if ("daily".equals(key)) {
+            retval = DAY;
+        } else if ("hourly".equals(key)) {
+            retval = HOUR;
+        } else if (key.isEmpty()) {
+            retval = NO_ROLL;
+        } else {
+            retval = Long.parseLong(key);
+        }
+        return retval;
+    }
+
+    /**
+     * @param value none, roll or the millis between fsync.
+     */
+    static long parseFsync(final String value) {
+        final String key = value == null ? ""
+                : value.trim().toLowerCase(Locale.ENGLISH);
+
+        long retval;
+        if ("roll".equals(key)) {
+            retval = FSYNC_ON_ROLL;
+        } else if (key.isEmpty() || "none".equals(key)) {
+            retval = FSYNC_NONE;
+        } else {
+            retval = Long.parseLong(key);
+        }
+        return retval;
+    }
+
+}
@@ -0,0 +1,241 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Renders each event as one JSON object per line, for log indexers. Writes
+ * straight into the destination buffer, no intermediate objects besides what
+ * the stack trace elements hand out.
+ *
+ * <pre>
+ * {"timestamp":"12:00:00.000","level":"INFO","class":"ph.rye.Foo",
+ *  "method":"bar","line":12,"thread":"main","message":"Hello",
+ *  "thrown":{"class":"java.lang.Exception","message":"Oops",
+ *            "frames":["ph.rye.Foo.bar(Foo.java:12)"],"more":3,
+ *            "suppressed":[{...}],"cause":{...}}}
+ * </pre>
+ *
+ * The method and line are left out when the caller is not resolved, and the
+ * timestamp is a number when the epoch style is used. Exceptions follow the
+ * {@link ThrowableRenderer} rules: frames past the throwable depth or shared
+ * with the enclosing trace are counted in "more".
+ *
+ * @author royce
+ */
+final class JsonLayout implements Layout {
+
+
+    /** Level names, unpadded. */
+    private static final String[] LEVEL_NAME = {
+            "IGNORE",
+            "DEBUG",
+            "INFO",
+            "WARN",
+            "ERROR" };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Last control character, those are escaped. */
+    private static final char MAX_CONTROL = 0x1f;
+
+
+    private final transient OneLogger logger;
+
+
+    JsonLayout(final OneLogger logger) {
+        this.logger = logger;
+    }
+
+
+    @Override
+    public void format(final LogEvent event, final StringBuilder out) {
+        final TimestampFormat timestamp = logger.getTimestampFormat();
+        out.append("{\"timestamp\":");
+        if (timestamp.getStyle() == TimestampFormat.Style.EPOCH) {
+            timestamp.formatTo(event.timestamp, out);
+        } else {
+            out.append('"');
+            timestamp.formatTo(event.timestamp, out);
+            out.append('"');
+        }
+
+        out.append(",\"level\":\"").append(LEVEL_NAME[event.level - 1]);
+        out.append('"');
+
+        if (event.className != null) {
+            out.append(",\"class\":");
+            appendString(event.className, out);
+            if (event.methodName != null) {
+                out.append(",\"method\":");
+                appendString(event.methodName, out);
+                out.append(",\"line\":").append(event.lineNo);
+            }
+        }
+
+        if (event.threadName != null) {
+            out.append(",\"thread\":");
+            appendString(event.threadName, out);
+        }
+
+        out.append(",\"message\":");
+        appendString(event.message, out);
+
+        if (event.thrown != null) {
+            out.append(",\"thrown\":");
+            appendThrowable(
+                event.thrown,
+                ThrowableRenderer.NO_FRAMES,
+                logger.getThrowableDepth(),
+                Collections.newSetFromMap(new IdentityHashMap<>()),
+                out);
+        }
+        out.append("}\n");
+    }
+
+    /**
+     * A throwable already written, through a circular cause or suppressed
+     * chain, is written as {"circular":"..."} instead.
+     */
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private static void appendThrowable(final Throwable thrown,
+                                        final StackTraceElement[] enclosing,
+                                        final int maxDepth,
+                                        final Set<Throwable> seen,
+                                        final StringBuilder out) {
+        if (seen.add(thrown)) {
+            out.append("{\"class\":");
+            appendString(thrown.getClass().getName(), out);
+            if (thrown.getMessage() != null) {
+                out.append(",\"message\":");
+                appendString(thrown.getMessage(), out);
+            }
+
+            out.append(",\"frames\":[");
+            final StackTraceElement[] trace = thrown.getStackTrace();
+            final int shown =
+                    ThrowableRenderer.shown(trace, enclosing, maxDepth);
+            for (int i = 0; i < shown; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendString(ThrowableRenderer.frame(trace[i]), out);
+            }
+            out.append(']');
+            if (shown < trace.length) {
+                out.append(",\"more\":").append(trace.length - shown);
+            }
+
+            final Throwable[] suppressed = thrown.getSuppressed();
+            if (suppressed.length > 0) {
+                out.append(",\"suppressed\":[");
+                for (int i = 0; i < suppressed.length; i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    appendThrowable(suppressed[i], trace, maxDepth, seen, out);
+                }
+                out.append(']');
+            }
+
+            final Throwable cause = thrown.getCause();
+            if (cause != null) {
+                out.append(",\"cause\":");
+                appendThrowable(cause, trace, maxDepth, seen, out);
+            }
+            out.append('}');
+        } else {
+            out.append("{\"circular\":");
+            appendString(thrown.toString(), out);
+            out.append('}');
+        }
+    }
+
+    /**
+     * Appends the value as a quoted JSON string. Values without anything to
+     * escape, the usual case, are appended in one call.
+     *
+     * @param value null is written as null.
+     * @param out destination buffer.
+     */
+    static void appendString(final String value, final StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else {
+            final int length = value.length();
+            int index = 0;
+            while (index < length && !isEscaped(value.charAt(index))) {
+                index++;
+            }
+
+            out.append('"');
+            if (index == length) {
+                out.append(value);
+            } else {
+                int start = 0;
+                for (int i = index; i < length; i++) {
+                    final char next = value.charAt(i);
+                    if (isEscaped(next)) {
+                        out.append(value, start, i);
+                        appendEscaped(next, out);
+                        start = i + 1;
+                    }
+                }
+                out.append(value, start, length);
+            }
+            out.append('"');
+        }
+    }
+
+    private static boolean isEscaped(final char next) {
+        return next <= MAX_CONTROL || next == '"' || next == '\\';
+    }
+
+    private static void appendEscaped(final char next,
+                                      final StringBuilder out) {
+        out.append('\\');
+        switch (next) {
+            case '"':
+            case '\\':
+                out.append(next);
+                break;
+            case '\n':
+                out.append('n');
+                break;
+            case '\r':
+                out.append('r');
+                break;
+            case '\t':
+                out.append('t');
+                break;
+            case '\b':
+                out.append('b');
+                break;
+            case '\f':
+                out.append('f');
+                break;
+            default:
+                out
+                    .append("u00")
+                    .append(HEX[next >> 4])
+                    .append(HEX[next & 0xf]);
+        }
+    }
+
+}
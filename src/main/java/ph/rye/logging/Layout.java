@@ -0,0 +1,34 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+/**
+ * Renders a log event into a line of output.
+ *
+ * @author royce
+ */
+@FunctionalInterface
+interface Layout {
+
+    /**
+     * Appends the event as one line, including the trailing new line.
+     *
+     * @param event event to render.
+     * @param out destination buffer.
+     */
+    void format(LogEvent event, StringBuilder out);
+
+}
@@ -0,0 +1,85 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+/**
+ * Mutable holder of a single log call. Instances are reused, both as the
+ * per-thread scratch event of the caller and as the pre-allocated slots of the
+ * async ring buffer, so appenders must copy what they keep.
+ *
+ * @author royce
+ */
+final class LogEvent {
+
+
+    /** Epoch millis of the log call. */
+    long timestamp;
+
+    /** One of the OneLogger.Level constants. */
+    int level;
+
+    /** Calling class name, null for the logger's own messages. */
+    String className;
+
+    /** Calling method name. */
+    String methodName;
+
+    /** Calling line number. */
+    int lineNo;
+
+    /** Name of the calling thread, null for the logger's own messages. */
+    String threadName;
+
+    /** Rendered message. */
+    String message;
+
+    /** Optional exception to render after the message. */
+    Throwable thrown;
+
+
+    LogEvent set(final long pTimestamp, final int pLevel,
+                 final String pClassName, final String pMethodName,
+                 final int pLineNo, final String pThreadName,
+                 final String pMessage, final Throwable pThrown) {
+        timestamp = pTimestamp;
+        level = pLevel;
+        className = pClassName;
+        methodName = pMethodName;
+        lineNo = pLineNo;
+        threadName = pThreadName;
+        message = pMessage;
+        thrown = pThrown;
+        return this;
+    }
+
+    void copyFrom(final LogEvent other) {
+        set(
+            other.timestamp,
+            other.level,
+            other.className,
+            other.methodName,
+            other.lineNo,
+            other.threadName,
+            other.message,
+            other.thrown);
+    }
+
+    /** Releases references so a reused slot does not pin garbage. */
+    void clear() {
+        set(0, 0, null, null, 0, null, null, null);
+    }
+
+}
@@ -0,0 +1,288 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import ph.rye.common.lang.ObjectUtil;
+
+/**
+ * Immutable snapshot of the OneLogger settings. Changes build a new snapshot
+ * through {@link Builder} and publish it as a whole, so a log call sees one
+ * consistent configuration without locking.
+ *
+ * The per class level cache belongs to the snapshot, a new snapshot starts
+ * with an empty cache and lookups against an old one cannot leak into it.
+ *
+ * @author royce
+ */
+final class LoggerConfig {
+
+
+    /** Resolved level of classes that never print. */
+    static final int NEVER = Integer.MAX_VALUE;
+
+
+    private final transient int defaultLevel;
+    private final transient Map<String, Integer> classLevel;
+    private final transient Set<String> ignoreSet;
+    private final transient boolean printToConsole;
+    private final transient boolean showPackage;
+    private final transient boolean shortPackage;
+    private final transient String basePackage;
+    private final transient boolean showMethod;
+    private final transient boolean jsonLayout;
+    private final transient TimestampFormat timestampFormat;
+    private final transient Map<String, RateLimiter> rateLimits;
+
+    /** Frames printed per throwable, ThrowableRenderer.UNLIMITED for all. */
+    private final transient int throwableDepth;
+
+    /** Window of duplicate exceptions from a call site, 0 when off. */
+    private final transient long dedupNanos;
+
+    /** Compiled from classLevel, most specific category wins. */
+    private final transient CategoryTrie<Integer> levelTrie =
+            new CategoryTrie<>();
+
+    /** Lowest level any category prints, calls below it return at once. */
+    private final transient int minLevel;
+
+    /** Lowest level printed per calling class name. */
+    private final transient Map<String, Integer> levelCache =
+            new ConcurrentHashMap<>();
+
+    /** Compiled from rateLimits, most specific category wins. */
+    private final transient CategoryTrie<RateLimiter> limitTrie =
+            new CategoryTrie<>();
+
+    /** Rate limiter per calling class name, UNLIMITED when none applies. */
+    private final transient Map<String, RateLimiter> limiterCache =
+            new ConcurrentHashMap<>();
+
+
+    /** Mutable settings, copied into a snapshot by {@link #build()}. */
+    static final class Builder {
+
+        int defaultLevel = OneLogger.Level.INFO;
+        final Map<String, Integer> classLevel = new LinkedHashMap<>();
+        final Set<String> ignoreSet = new HashSet<>();
+        boolean printToConsole;
+        boolean showPackage = true;
+        boolean shortPackage = true;
+        String basePackage = "";
+        boolean showMethod = true;
+        boolean jsonLayout;
+        TimestampFormat timestampFormat =
+                new TimestampFormat(TimestampFormat.Style.TIME);
+
+        /**
+         * Limiter per category. Copies share the limiters, so changing other
+         * settings does not refill the buckets.
+         */
+        final Map<String, RateLimiter> rateLimits = new LinkedHashMap<>();
+        long dedupMillis;
+        int throwableDepth = ThrowableRenderer.UNLIMITED;
+
+        /** Default settings. */
+        Builder() {}
+
+        /** Starts from the settings of an existing snapshot. */
+        Builder(final LoggerConfig config) {
+            defaultLevel = config.defaultLevel;
+            classLevel.putAll(config.classLevel);
+            ignoreSet.addAll(config.ignoreSet);
+            printToConsole = config.printToConsole;
+            showPackage = config.showPackage;
+            shortPackage = config.shortPackage;
+            basePackage = config.basePackage;
+            showMethod = config.showMethod;
+            jsonLayout = config.jsonLayout;
+            timestampFormat = config.timestampFormat;
+            rateLimits.putAll(config.rateLimits);
+            dedupMillis = TimeUnit.NANOSECONDS.toMillis(config.dedupNanos);
+            throwableDepth = config.throwableDepth;
+        }
+
+        LoggerConfig build() {
+            return new LoggerConfig(this);
+        }
+    }
+
+
+    private LoggerConfig(final Builder builder) {
+        defaultLevel = builder.defaultLevel;
+        classLevel = Collections
+            .unmodifiableMap(new LinkedHashMap<>(builder.classLevel));
+        ignoreSet =
+                Collections.unmodifiableSet(new HashSet<>(builder.ignoreSet));
+        printToConsole = builder.printToConsole;
+        showPackage = builder.showPackage;
+        shortPackage = builder.shortPackage;
+        basePackage = builder.basePackage;
+        showMethod = builder.showMethod;
+        jsonLayout = builder.jsonLayout;
+        timestampFormat = builder.timestampFormat;
+        rateLimits = Collections
+            .unmodifiableMap(new LinkedHashMap<>(builder.rateLimits));
+        dedupNanos = TimeUnit.MILLISECONDS.toNanos(builder.dedupMillis);
+        throwableDepth = builder.throwableDepth;
+
+        for (final Map.Entry<String, RateLimiter> entry : rateLimits
+            .entrySet()) {
+            limitTrie.put(entry.getKey(), entry.getValue());
+        }
+
+        int lowest = toThreshold(defaultLevel);
+        for (final Map.Entry<String, Integer> entry : classLevel.entrySet()) {
+            levelTrie.put(entry.getKey(), entry.getValue());
+            lowest = Math.min(lowest, toThreshold(entry.getValue()));
+        }
+        minLevel = lowest;
+    }
+
+
+    /**
+     * @param level level of the log call.
+     * @return false when no category could print the level.
+     */
+    boolean isEnabled(final int level) {
+        return level >= minLevel;
+    }
+
+    /**
+     * Checks the className against its cached category level.
+     *
+     * @param className calling class, null for the logger's own messages.
+     * @param level level of the log call.
+     */
+    boolean isPrinted(final String className, final int level) {
+        boolean retval = true; //NOPMD: true default, conditionally redefine.
+        if (className != null) {
+            Integer resolved = levelCache.get(className);
+            if (resolved == null) {
+                resolved = levelCache
+                    .computeIfAbsent(className, this::resolveLevel);
+            }
+            retval = level >= resolved;
+        }
+        return retval;
+    }
+
+    /**
+     * Resolves the lowest level printed for a class, from the ignore Set and
+     * the most specific category in the level trie.
+     *
+     * @param className class name, not null.
+     * @return NEVER when ignored or when the category is OFF.
+     */
+    private Integer resolveLevel(final String className) {
+        int retval = NEVER;
+        if (!isInIgnoreList(className)) {
+            retval = toThreshold(
+                ObjectUtil.nvl(levelTrie.resolve(className), defaultLevel));
+        }
+        return retval;
+    }
+
+    boolean isInIgnoreList(final String className) {
+        boolean retval = false; //NOPMD: false default, conditionally redefine.
+        for (final String nextIgnore : ignoreSet) {
+            if (className.startsWith(nextIgnore)) {
+                retval = true;
+                break;
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * @param className calling class, not null.
+     * @return limiter of the most specific limited category, UNLIMITED when
+     *         none applies.
+     */
+    RateLimiter getRateLimiter(final String className) {
+        RateLimiter retval = limiterCache.get(className);
+        if (retval == null) {
+            retval = limiterCache.computeIfAbsent(
+                className,
+                k -> ObjectUtil
+                    .nvl(limitTrie.resolve(k), RateLimiter.UNLIMITED));
+        }
+        return retval;
+    }
+
+    /** @return true when rate limits or the dedup window apply. */
+    boolean isSuppressing() {
+        return dedupNanos > 0 || !rateLimits.isEmpty();
+    }
+
+    Collection<RateLimiter> getRateLimiters() {
+        return rateLimits.values();
+    }
+
+    long getDedupNanos() {
+        return dedupNanos;
+    }
+
+    int getThrowableDepth() {
+        return throwableDepth;
+    }
+
+    private static int toThreshold(final int level) {
+        return level == OneLogger.Level.OFF ? NEVER : level;
+    }
+
+    int getDefaultLevel() {
+        return defaultLevel;
+    }
+
+    boolean isPrintToConsole() {
+        return printToConsole;
+    }
+
+    boolean isShowPackage() {
+        return showPackage;
+    }
+
+    boolean isShortPackage() {
+        return shortPackage;
+    }
+
+    String getBasePackage() {
+        return basePackage;
+    }
+
+    boolean isShowMethod() {
+        return showMethod;
+    }
+
+    boolean isJsonLayout() {
+        return jsonLayout;
+    }
+
+    TimestampFormat getTimestampFormat() {
+        return timestampFormat;
+    }
+
+}
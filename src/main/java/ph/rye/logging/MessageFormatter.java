@@ -0,0 +1,202 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.Arrays;
+
+/**
+ * Substitutes "{}" placeholders with arguments, in order. A placeholder
+ * preceded by a backslash is printed as is. Placeholders without an argument
+ * are left in the output and extra arguments are ignored.
+ *
+ * Renders into a per thread buffer, the only allocation is the resulting
+ * String. An argument whose toString() formats a message itself, by logging,
+ * gets a buffer of its own for the nested call.
+ *
+ * @author royce
+ */
+final class MessageFormatter {
+
+
+    /** Buffers that grew past this are not kept for reuse. */
+    private static final int MAX_KEPT_CAPACITY = 4096;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final ThreadLocal<Scratch> SCRATCH =
+            ThreadLocal.withInitial(Scratch::new);
+
+
+    private MessageFormatter() {}
+
+
+    /**
+     * Arguments are passed either as arg1 to arg3, or as args when args is not
+     * null, so the fixed arity callers do not allocate an array.
+     *
+     * @param pattern message with {} placeholders. Not null.
+     * @param count number of arguments.
+     * @param arg1 first argument.
+     * @param arg2 second argument.
+     * @param arg3 third argument.
+     * @param args all arguments, for varargs callers. Null otherwise.
+     */
+    static String format(final String pattern, final int count,
+                         final Object arg1, final Object arg2,
+                         final Object arg3, final Object[] args) {
+        final Scratch scratch = SCRATCH.get();
+        String retval;
+        if (scratch.busy) {
+            retval = render(
+                new StringBuilder(INITIAL_CAPACITY),
+                pattern,
+                count,
+                arg1,
+                arg2,
+                arg3,
+                args);
+        } else {
+            scratch.busy = true;
+            try {
+                scratch.buffer.setLength(0);
+                retval = render(
+                    scratch.buffer,
+                    pattern,
+                    count,
+                    arg1,
+                    arg2,
+                    arg3,
+                    args);
+            } finally {
+                scratch.busy = false;
+                if (scratch.buffer.capacity() > MAX_KEPT_CAPACITY) {
+                    scratch.buffer = new StringBuilder(INITIAL_CAPACITY);
+                }
+            }
+        }
+        return retval;
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private static String render(final StringBuilder buffer,
+                                 final String pattern, final int count,
+                                 final Object arg1, final Object arg2,
+                                 final Object arg3, final Object[] args) {
+        int argIndex = 0;
+        int start = 0;
+        int index = pattern.indexOf("{}");
+        while (index >= 0) {
+            if (index > 0 && pattern.charAt(index - 1) == '\\') {
+                buffer.append(pattern, start, index - 1).append("{}");
+            } else if (argIndex < count) {
+                buffer.append(pattern, start, index);
+                appendArg(
+                    buffer,
+                    arg(argIndex, arg1, arg2, arg3, args));
+                argIndex++;
+            } else {
+                buffer.append(pattern, start, index + 2);
+            }
+            start = index + 2;
+            index = pattern.indexOf("{}", start);
+        }
+        buffer.append(pattern, start, pattern.length());
+        return buffer.toString();
+    }
+
+    /**
+     * @return the last argument when it is a Throwable not consumed by a
+     *         placeholder, null otherwise.
+     */
+    static Throwable trailingThrowable(final String pattern, final int count,
+                                       final Object arg1, final Object arg2,
+                                       final Object arg3,
+                                       final Object[] args) {
+        Throwable retval = null; //NOPMD: null default, conditionally redefine.
+        if (count > 0) {
+            final Object last = arg(count - 1, arg1, arg2, arg3, args);
+            if (last instanceof Throwable
+                    && countPlaceholders(pattern) < count) {
+                retval = (Throwable) last;
+            }
+        }
+        return retval;
+    }
+
+    static int countPlaceholders(final String pattern) {
+        int retval = 0;
+        int index = pattern.indexOf("{}");
+        while (index >= 0) {
+            if (index == 0 || pattern.charAt(index - 1) != '\\') {
+                retval++;
+            }
+            index = pattern.indexOf("{}", index + 2);
+        }
+        return retval;
+    }
+
+    private static Object arg(final int index, final Object arg1,
+                              final Object arg2, final Object arg3,
+                              final Object[] args) {
+        Object retval;
+        if (args != null) {
+            retval = args[index];
+        } else if (index == 0) {
+            retval = arg1;
+        } else if (index == 1) {
+            retval = arg2;
+        } else {
+            retval = arg3;
+        }
+        return retval;
+    }
+
+    private static void appendArg(final StringBuilder buffer,
+                                  final Object arg) {
+        if (arg == null || !arg.getClass().isArray()) {
+            buffer.append(arg);
+        } else if (arg instanceof Object[]) {
+            buffer.append(Arrays.deepToString((Object[]) arg));
+        } else if (arg instanceof int[]) {
+            buffer.append(Arrays.toString((int[]) arg));
+        } else if (arg instanceof long[]) {
+            buffer.append(Arrays.toString((long[]) arg));
+        } else if (arg instanceof double[]) {
+            buffer.append(Arrays.toString((double[]) arg));
+        } else if (arg instanceof byte[]) {
+            buffer.append(Arrays.toString((byte[]) arg));
+        } else if (arg instanceof char[]) {
+            buffer.append(Arrays.toString((char[]) arg));
+        } else if (arg instanceof boolean[]) {
+            buffer.append(Arrays.toString((boolean[]) arg));
+        } else if (arg instanceof float[]) {
+            buffer.append(Arrays.toString((float[]) arg));
+        } else {
+            buffer.append(Arrays.toString((short[]) arg));
+        }
+    }
+
+
+    /** Buffer of a thread, busy while a format on that thread uses it. */
+    private static final class Scratch {
+
+        private transient StringBuilder buffer =
+                new StringBuilder(INITIAL_CAPACITY);
+
+        private transient boolean busy;
+    }
+
+}
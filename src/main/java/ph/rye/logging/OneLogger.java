@@ -1,20 +1,25 @@
 package ph.rye.logging;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.Optional;
+import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
-import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import ph.rye.common.lang.Ano;
 import ph.rye.common.lang.ObjectUtil;
@@ -31,7 +36,7 @@ import ph.rye.common.lang.ObjectUtil;
  * #defaults to INFO
  * log4one.defaultLevel=INFO
  *
- * #defaults to yes
+ * #defaults to yes. no also skips the caller method and line lookup.
  * log4one.showMethod=yes
  *
  * #defaults to yes
@@ -46,7 +51,54 @@ import ph.rye.common.lang.ObjectUtil;
  * #defaults to yes
  * log4one.isDeployed=no
  *
- * # log categories
+ * #defaults to no. Writes from a background thread when yes.
+ * log4one.async=no
+ *
+ * #defaults to 1024, rounded up to a power of two.
+ * log4one.async.bufferSize=1024
+ *
+ * #block, dropNewest or dropAndCount. defaults to block
+ * log4one.async.overflow=block
+ *
+ * #time (HH:mm:ss.SSS), iso8601 or epoch. defaults to time
+ * log4one.timestamp=time
+ *
+ * #text, or json for one JSON object per line. defaults to text
+ * log4one.layout=text
+ *
+ * #defaults to no. Reloads levels and display settings when this file
+ * #changes, only when it is a plain file on the class path.
+ * log4one.watch=no
+ *
+ * #log file, also written when printToConsole is no. Best with async.
+ * #log4one.file=logs/app.log
+ *
+ * #roll by size, with K, M or G suffix. defaults to 100M
+ * #log4one.file.maxSize=100M
+ *
+ * #daily, hourly or millis. defaults to no time based roll
+ * #log4one.file.rollInterval=daily
+ *
+ * #none, roll, or millis between fsync. defaults to none
+ * #log4one.file.fsync=none
+ *
+ * #write buffer. defaults to 1M
+ * #log4one.file.bufferSize=1M
+ *
+ * #frames printed per exception, cause and suppressed exception. defaults
+ * #to 0, all
+ * #log4one.throwable.maxDepth=0
+ *
+ * #events per second and optional burst, by package or class. The most
+ * #specific one applies. log4one.limit applies to every class. No limits by
+ * #default. Dropped events are counted in a summary every 10 seconds.
+ * #log4one.limit.ph.rye.net=100,200
+ *
+ * #drops the same exception type from the same call site logged again within
+ * #millis. defaults to 0, off
+ * #log4one.dedup=0
+ *
+ * # log categories, by package or class. The most specific one applies.
  * log4one.logger.ph.rye.logging=DEBUG
  * </pre>
  *
@@ -69,18 +121,12 @@ public class OneLogger {
     /** Singleton instance. */
     private static final OneLogger INSTANCE = new OneLogger();
 
-    /**
-     * This will be the subject of the logger. Set this using getInstance(Class)
-     * otherwise the calling class will be the active Class.
-     */
-    private static String activeClass;
-
 
     /** Original stream used to toggle blocking of System.out.println. */
-    private static final PrintStream ORIG_STREAM = System.out;
+    static final PrintStream ORIG_STREAM = System.out;
 
     /** Original stream used to toggle blocking of System.out.println. */
-    private static final PrintStream ORIG_ERR_STREAM = System.err;
+    static final PrintStream ORIG_ERR_STREAM = System.err;
 
 
     /** Empty stream used to block System.out.println. */
@@ -95,38 +141,101 @@ public class OneLogger {
     /** Logging properties config file. */
     private static final String RESOURCE_NAME = "log4one";
 
-    /** */
+    /** Level display, padded to 5 characters. */
     private static final String[] LOG_PREFIX = {
-            "IGNO",
+            " IGNO",
             "DEBUG",
-            "INFO",
-            "WARN",
+            " INFO",
+            " WARN",
             "ERROR" };
 
+    /** Resolves the calling class and, when shown, method and line. */
+    private static final StackWalker WALKER = StackWalker
+        .getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /** First frame outside this class, the frames below it are not walked. */
+    private static final Function<Stream<StackWalker.StackFrame>, StackWalker.StackFrame> CALLER_FRAME =
+            frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != OneLogger.class)
+                .findFirst()
+                .orElse(null);
+
+    /** Reusable event per calling thread, copied by the appenders. */
+    private static final ThreadLocal<LogEvent> SCRATCH_EVENT =
+            ThreadLocal.withInitial(LogEvent::new);
 
-    private final transient Set<String> ignoreSet = new HashSet<String>();
 
-    /** Flag to enable/disable printing to standard output. */
-    private transient boolean printToConsole;
-    /** Flag to enable/disable class name or simple name. */
-    private transient boolean showPackage = true;
     /**
-     * Flag to enable/disable shortened (remove 'adb.oracle.apps' prefix)
-     * package.
+     * Current settings. Setters publish a new snapshot instead of changing
+     * this one, so a log call reads them without locking.
      */
-    private transient boolean shortPackage = true;
-    /** Base package of project. */
-    private transient String basePackage = "";
-    /** Flag to show or hide the calling method. */
-    private boolean showMethod = true;
+    private transient volatile LoggerConfig config =
+            new LoggerConfig.Builder().build();
+
+    /** "time level class.method:line - message" lines. */
+    private final transient Layout textLayout = this::formatText;
+
+    /** One JSON object per line. */
+    private final transient Layout jsonLayout = new JsonLayout(this);
 
-    private transient int defaultLevel = Level.INFO;
-    private final transient Map<String, Integer> classLevel =
-            new LinkedHashMap<String, Integer>();
+    /** Duplicate filter and summary of what was suppressed. */
+    private final transient Suppressor suppressor =
+            new Suppressor(() -> config, this::report);
+
+    /** Reloads log4one.properties when log4one.watch is on. */
+    private transient ConfigWatcher watcher;
+
+    /** Console output, also used for the logger's own messages. */
+    private final transient Appender consoleAppender =
+            new ConsoleAppender(this);
+
+    /** Log file output, null when log4one.file is not set. */
+    private transient FileAppender fileAppender;
+
+    /**
+     * Enabled outputs written on the calling thread, null when nothing is
+     * printed.
+     */
+    private transient volatile Appender directAppender;
+
+    /** Flag to write from a background thread. */
+    private transient boolean async;
+
+    /** Background writer, null when logging synchronously. */
+    private transient volatile AsyncAppender asyncAppender;
+
+    /** Ring buffer capacity used when async is turned on. */
+    private transient int asyncBufferSize = AsyncAppender.DEFAULT_BUFFER_SIZE;
+
+    /** Full ring buffer policy used when async is turned on. */
+    private transient AsyncAppender.Overflow asyncOverflow =
+            AsyncAppender.Overflow.BLOCK;
 
     /** Flag for initialize from properties file. */
-    private static boolean initialized;
+    private static volatile boolean initialized;
+
+    /** Rate limit keys, followed by the category. */
+    private static final String LIMIT_PREFIX = "log4one.limit.";
 
+    /** Level names accepted in the properties file. */
+    private static final Map<String, Integer> LEVEL_NAMES = Map.of(
+        "INFO",
+        Level.INFO,
+        "DEBUG",
+        Level.DEBUG,
+        "WARN",
+        Level.WARN,
+        "ERROR",
+        Level.ERROR,
+        "OFF",
+        Level.OFF);
+
+
+    /** Default size at which the log file rolls. */
+    private static final long DEFAULT_MAX_FILE_SIZE = 100L * 1024 * 1024;
+
+    /** Default direct buffer size of the log file. */
+    private static final long DEFAULT_FILE_BUFFER = 1024L * 1024;
 
     /** Level - Message separator. */
     static final String SEP_MSG = " - ";
@@ -168,64 +277,48 @@ public class OneLogger {
      * @return Singleton instance.
      */
     public static OneLogger getInstance() {
+        if (!initialized) {
+            initialize();
+        }
+        return INSTANCE;
+    }
+
+    /** Configures from log4one.properties, once. */
+    private static synchronized void initialize() {
         if (!initialized) {
             try {
                 final ResourceBundle resBundle =
                         ResourceBundle.getBundle(RESOURCE_NAME);
 
-                final String cfgDefaultLevel =
-                        resBundle.getString("log4one.defaultLevel");
-
-                final Map<String, Integer> levelToStr =
-                        new HashMap<String, Integer>();
-
-                levelToStr.put("INFO", Level.INFO);
-                levelToStr.put("DEBUG", Level.DEBUG);
-                levelToStr.put("WARN", Level.WARN);
-                levelToStr.put("ERROR", Level.ERROR);
-                levelToStr.put("OFF", Level.OFF);
+                INSTANCE.update(builder -> configure(resBundle, builder));
 
-                INSTANCE.defaultLevel = ObjectUtil
-                    .nvl(levelToStr.get(cfgDefaultLevel), Level.INFO);
-
-                INSTANCE.showMethod = getResourceValue(
-                    resBundle,
-                    "log4one.showMethod",
-                    INSTANCE.showMethod);
-
-                INSTANCE.showPackage = getResourceValue(
+                INSTANCE.asyncBufferSize = parseResourceValue(
                     resBundle,
-                    "log4one.showPackage",
-                    INSTANCE.showPackage);
-
-                INSTANCE.shortPackage = getResourceValue(
-                    resBundle,
-                    "log4one.shortPackage",
-                    INSTANCE.shortPackage);
-
-                INSTANCE.basePackage =
-                        resBundle.getString("log4one.basePackage");
-
-                INSTANCE.printToConsole = getResourceValue(
-                    resBundle,
-                    "log4one.printToConsole",
-                    INSTANCE.printToConsole);
-
-
-                for (final Enumeration<String> enu = resBundle.getKeys(); enu
-                    .hasMoreElements();) {
-
-                    final String logger = enu.nextElement();
-
-                    if (logger.startsWith("log4one.logger.")
-                            && !"log4one.logger.".equals(logger.trim())) {
+                    "log4one.async.bufferSize",
+                    INSTANCE.asyncBufferSize,
+                    Integer::valueOf);
+
+                INSTANCE.asyncOverflow = AsyncAppender.Overflow.parse(
+                    getResourceValue(
+                        resBundle,
+                        "log4one.async.overflow",
+                        INSTANCE.asyncOverflow.name()));
+
+                final String logFile =
+                        getResourceValue(resBundle, "log4one.file", "");
+                if (!logFile.isEmpty()) {
+                    INSTANCE.fileAppender = openFile(resBundle, logFile);
+                    if (INSTANCE.fileAppender != null) {
+                        Runtime.getRuntime().addShutdownHook(
+                            new Thread(INSTANCE::closeFile, "log4one-file"));
+                    }
+                }
 
-                        final String classPrefix = logger.substring(15);
+                INSTANCE.setAsync(
+                    getResourceValue(resBundle, "log4one.async", false));
 
-                        INSTANCE.setLevel(
-                            classPrefix,
-                            levelToStr.get(resBundle.getString(logger).trim()));
-                    }
+                if (getResourceValue(resBundle, "log4one.watch", false)) {
+                    INSTANCE.watchConfig();
                 }
 
                 if (!ENABLE_SYSOUT) {
@@ -248,9 +341,143 @@ public class OneLogger {
             }
             initialized = true;
         }
+    }
 
-        activeClass = "";
-        return INSTANCE;
+    /**
+     * Reads the level and display settings, the ones that can be reloaded.
+     *
+     * @param resBundle log4one properties.
+     * @param builder receives the settings.
+     * @throws MissingResourceException when log4one.defaultLevel or
+     *             log4one.basePackage is missing.
+     */
+    static void configure(final ResourceBundle resBundle,
+                          final LoggerConfig.Builder builder) {
+        builder.defaultLevel = ObjectUtil.nvl(
+            LEVEL_NAMES.get(resBundle.getString("log4one.defaultLevel")),
+            Level.INFO);
+
+        builder.showMethod = getResourceValue(
+            resBundle,
+            "log4one.showMethod",
+            builder.showMethod);
+
+        builder.showPackage = getResourceValue(
+            resBundle,
+            "log4one.showPackage",
+            builder.showPackage);
+
+        builder.shortPackage = getResourceValue(
+            resBundle,
+            "log4one.shortPackage",
+            builder.shortPackage);
+
+        builder.basePackage = resBundle.getString("log4one.basePackage");
+
+        builder.printToConsole = getResourceValue(
+            resBundle,
+            "log4one.printToConsole",
+            builder.printToConsole);
+
+        builder.timestampFormat = new TimestampFormat(
+            TimestampFormat.Style.parse(
+                getResourceValue(
+                    resBundle,
+                    "log4one.timestamp",
+                    builder.timestampFormat.getStyle().name())));
+
+        builder.jsonLayout = "json".equalsIgnoreCase(
+            getResourceValue(resBundle, "log4one.layout", "text"));
+
+        builder.throwableDepth = parseResourceValue(
+            resBundle,
+            "log4one.throwable.maxDepth",
+            builder.throwableDepth,
+            Integer::valueOf);
+
+        builder.dedupMillis = parseResourceValue(
+            resBundle,
+            "log4one.dedup",
+            builder.dedupMillis,
+            Long::valueOf);
+
+        for (final Enumeration<String> enu = resBundle.getKeys(); enu
+            .hasMoreElements();) {
+
+            final String logger = enu.nextElement();
+
+            if (logger.startsWith("log4one.logger.")
+                    && !"log4one.logger.".equals(logger.trim())) {
+
+                final Integer level =
+                        LEVEL_NAMES.get(resBundle.getString(logger).trim());
+                if (level != null) {
+                    builder.classLevel.put(logger.substring(15), level);
+                }
+            } else if (logger.startsWith(LIMIT_PREFIX)
+                    || LIMIT_PREFIX.equals(logger + '.')) {
+
+                final String category = logger.length() > LIMIT_PREFIX.length()
+                        ? logger.substring(LIMIT_PREFIX.length())
+                        : "";
+                final RateLimiter limiter = parseResourceValue(
+                    resBundle,
+                    logger,
+                    null,
+                    value -> RateLimiter.parse(category, value));
+                if (limiter != null) {
+                    builder.rateLimits.put(category, limiter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Watches log4one.properties when it is a plain file on the class path.
+     */
+    private synchronized void watchConfig() {
+        final URL resource = OneLogger.class
+            .getClassLoader()
+            .getResource(RESOURCE_NAME + ".properties");
+        try {
+            if (resource != null && "file".equals(resource.getProtocol())) {
+                if (watcher != null) {
+                    watcher.close();
+                }
+                watcher = new ConfigWatcher(
+                    Paths.get(resource.toURI()),
+                    this::reload);
+            } else {
+                print(
+                    RESOURCE_NAME + ".properties is not a file, not watched.",
+                    Level.WARN);
+            }
+        } catch (final IOException | URISyntaxException e) {
+            print(
+                "Unable to watch " + resource + ": " + e.getMessage(),
+                Level.WARN);
+        }
+    }
+
+    /**
+     * Replaces the level and display settings with the ones in the file. The
+     * current settings stay when the file cannot be read. Outputs, async and
+     * log file settings are only read at startup.
+     *
+     * @param file log4one properties file.
+     */
+    void reload(final Path file) {
+        try (InputStream input = Files.newInputStream(file)) {
+            final LoggerConfig.Builder builder = new LoggerConfig.Builder();
+            configure(new PropertyResourceBundle(input), builder);
+            publish(builder.build());
+            print("Reloaded " + file, Level.INFO);
+        } catch (final IOException | RuntimeException e) {
+            print(
+                "Unable to reload " + file + ", keeping current settings: "
+                        + e,
+                Level.WARN);
+        }
     }
 
     /**
@@ -263,29 +490,165 @@ public class OneLogger {
     private static boolean getResourceValue(final ResourceBundle resBundle,
                                             final String resourceKey,
                                             final boolean defaultValue) {
-        final Ano<Boolean> retval = new Ano<>(false);
+        return findResourceValue(resBundle, resourceKey)
+            .map(
+                resValue -> Arrays
+                    .asList(new String[] {
+                            "yes",
+                            "true" })
+                    .contains(resValue.toLowerCase(Locale.getDefault())))
+            .orElse(defaultValue);
+    }
+
+    /**
+     * Opens the log file with the log4one.file.* settings.
+     *
+     * @return null when the file cannot be opened.
+     */
+    private static FileAppender openFile(final ResourceBundle resBundle,
+                                         final String logFile) {
+        final Ano<FileAppender> retval = new Ano<>();
         try {
-            String resValue;
-            if (resBundle.getString(resourceKey) == null) {
-                resValue = "false";
-            } else {
-                resValue = resBundle.getString(resourceKey).trim();
+            retval.set(
+                new FileAppender(
+                    INSTANCE,
+                    Paths.get(logFile),
+                    parseResourceValue(
+                        resBundle,
+                        "log4one.file.maxSize",
+                        DEFAULT_MAX_FILE_SIZE,
+                        value -> FileAppender
+                            .parseSize(value, DEFAULT_MAX_FILE_SIZE)),
+                    parseResourceValue(
+                        resBundle,
+                        "log4one.file.rollInterval",
+                        FileAppender.NO_ROLL,
+                        FileAppender::parseRollInterval),
+                    parseResourceValue(
+                        resBundle,
+                        "log4one.file.fsync",
+                        FileAppender.FSYNC_NONE,
+                        FileAppender::parseFsync),
+                    parseResourceValue(
+                        resBundle,
+                        "log4one.file.bufferSize",
+                        (int) DEFAULT_FILE_BUFFER,
+                        value -> Math.toIntExact(
+                            FileAppender
+                                .parseSize(value, DEFAULT_FILE_BUFFER)))));
+        } catch (final IOException | RuntimeException e) {
+            INSTANCE.print(
+                "Unable to open " + logFile + ": " + e.getMessage(),
+                Level.WARN);
+        }
+        return retval.get();
+    }
+
+    /**
+     * Retrieve trimmed key values from resource.
+     *
+     * @param resBundle resource bundle.
+     * @param resourceKey resource key.
+     * @param defaultValue default value to use if resource key do not exist.
+     */
+    private static String getResourceValue(final ResourceBundle resBundle,
+                                           final String resourceKey,
+                                           final String defaultValue) {
+        return findResourceValue(resBundle, resourceKey).orElse(defaultValue);
+    }
+
+    /**
+     * Parses a setting. A malformed value is reported and the default used,
+     * a bad property must not fail the application.
+     *
+     * @param resBundle resource bundle.
+     * @param resourceKey resource key.
+     * @param defaultValue used when the key does not exist or its value does
+     *            not parse.
+     * @param parser converts the trimmed value.
+     */
+    private static <T> T parseResourceValue(final ResourceBundle resBundle,
+                                            final String resourceKey,
+                                            final T defaultValue,
+                                            final Function<String, T> parser) {
+        final Ano<T> retval = new Ano<>(defaultValue);
+        findResourceValue(resBundle, resourceKey).ifPresent(value -> {
+            try {
+                retval.set(parser.apply(value));
+            } catch (final RuntimeException e) {
+                INSTANCE.print(
+                    "Invalid " + resourceKey + "=" + value + ", using "
+                            + defaultValue + ": " + e,
+                    Level.WARN);
             }
+        });
+        return retval.get();
+    }
+
+    /**
+     * Checks the key first, a missing key is the common case and must not
+     * cost a MissingResourceException.
+     *
+     * @param resBundle resource bundle.
+     * @param resourceKey resource key.
+     * @return trimmed value, empty when the key does not exist.
+     */
+    private static Optional<String> findResourceValue(
+            final ResourceBundle resBundle, final String resourceKey) {
+        return resBundle.containsKey(resourceKey)
+                ? Optional.of(resBundle.getString(resourceKey).trim())
+                : Optional.empty();
+    }
+
 
-            retval.set(Arrays
-                .asList(new String[] {
-                        "yes",
-                        "true" })
-                .contains(resValue.toLowerCase(Locale.getDefault())));
-        } catch (final MissingResourceException mre) { //NOPMD Reviewed.
-            retval.set(defaultValue);
+    /**
+     * Limits the events of a category, excess events are dropped and counted
+     * in the periodic summary.
+     *
+     * @param category package or class, "" for every class.
+     * @param perSecond sustained events per second, 0 removes the limit.
+     * @param burst events allowed at once.
+     */
+    public void setRateLimit(final String category, final double perSecond,
+                             final int burst) {
+        if (category != null) {
+            final RateLimiter limiter = perSecond > 0
+                    ? new RateLimiter(category, perSecond, Math.max(1, burst))
+                    : null;
+            update(builder -> {
+                if (limiter != null) {
+                    builder.rateLimits.put(category, limiter);
+                } else {
+                    builder.rateLimits.remove(category);
+                }
+            });
         }
-        return retval.get();
     }
 
+    /**
+     * Drops repeats of the same exception type from the same call site within
+     * the window, counted in the periodic summary.
+     *
+     * @param millis window, 0 to turn off.
+     */
+    public void setDedupWindow(final long millis) {
+        update(builder -> builder.dedupMillis = Math.max(0, millis));
+    }
+
+    /**
+     * @param maxDepth frames printed per exception, cause and suppressed
+     *            exception. 0 prints all.
+     */
+    public void setThrowableDepth(final int maxDepth) {
+        update(builder -> builder.throwableDepth = Math.max(0, maxDepth));
+    }
+
+    int getThrowableDepth() {
+        return config.getThrowableDepth();
+    }
 
     public void setShortPackage(final boolean shortPackage) {
-        this.shortPackage = shortPackage;
+        update(builder -> builder.shortPackage = shortPackage);
     }
 
     /**
@@ -307,44 +670,59 @@ public class OneLogger {
      */
     public void setLevel(final String source, final int level) {
         if (source != null && level <= Level.ERROR) {
-            classLevel.put(source, level);
+            update(builder -> builder.classLevel.put(source, level));
         }
     }
 
-    private void log(final Object pMessage, final StackTraceElement ste,
-                     final int level) {
-
-        if (printToConsole && isPrinted(getClassName(ste), level)) {
-
-            final String classNameDisp = getClassNameDisp(ste);
-            final String methName = getMethodDisp(ste);
-            final int lineNo = ste.getLineNumber();
+    /**
+     * Publishes a copy of the current settings with the change applied.
+     * Concurrent changes are serialized, none is lost.
+     *
+     * @param change applied to a copy of the current settings.
+     */
+    private synchronized void update(
+            final Consumer<LoggerConfig.Builder> change) {
+        final LoggerConfig.Builder builder = new LoggerConfig.Builder(config);
+        change.accept(builder);
+        publish(builder.build());
+    }
 
-            print(
-                classNameDisp + methName + ":" + lineNo + SEP_MSG + pMessage,
-                level);
+    /** Replaces the settings, rebuilding the outputs when they changed. */
+    private synchronized void publish(final LoggerConfig next) {
+        final boolean outputChanged =
+                next.isPrintToConsole() != config.isPrintToConsole();
+        config = next;
+        if (outputChanged) {
+            outputsChanged();
+        }
+        if (next.isSuppressing()) {
+            suppressor.start();
         }
-
     }
 
     public void log(final Object message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, defaultLevel);
+        final int level = config.getDefaultLevel();
+        if (isEnabled(level)) {
+            log(message, null, WALKER.getCallerClass(), level);
+        }
     }
 
     public void info(final Object message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.INFO);
+        if (isEnabled(Level.INFO)) {
+            log(message, null, WALKER.getCallerClass(), Level.INFO);
+        }
     }
 
     public void infof(final String message, final Object... args) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(String.format(message, args), ste, Level.INFO);
+        if (isEnabled(Level.INFO)) {
+            logf(Level.INFO, WALKER.getCallerClass(), message, args);
+        }
     }
 
     public void ignore(final Object message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.IGNORE);
+        if (isEnabled(Level.IGNORE)) {
+            log(message, null, WALKER.getCallerClass(), Level.IGNORE);
+        }
     }
 
     /**
@@ -354,8 +732,9 @@ public class OneLogger {
      * @param message debug message.
      */
     public void debug(final Object message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.DEBUG);
+        if (isEnabled(Level.DEBUG)) {
+            log(message, null, WALKER.getCallerClass(), Level.DEBUG);
+        }
     }
 
     /**
@@ -365,156 +744,592 @@ public class OneLogger {
      * @param message debug message.
      */
     public void debugf(final String message, final Object... args) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(String.format(message, args), ste, Level.DEBUG);
+        if (isEnabled(Level.DEBUG)) {
+            logf(Level.DEBUG, WALKER.getCallerClass(), message, args);
+        }
     }
 
     public void warn(final Object message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.WARN);
+        if (isEnabled(Level.WARN)) {
+            log(message, null, WALKER.getCallerClass(), Level.WARN);
+        }
     }
 
     public void error(final Object message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.ERROR);
+        if (isEnabled(Level.ERROR)) {
+            log(message, null, WALKER.getCallerClass(), Level.ERROR);
+        }
     }
 
     public void log(final Object message, final Throwable exception) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-
-        final String dispMessage = getDispMessage(message, exception);
-        log(dispMessage, ste, defaultLevel);
+        final int level = config.getDefaultLevel();
+        if (isEnabled(level)) {
+            log(message, exception, WALKER.getCallerClass(), level);
+        }
     }
 
     public void info(final Object message, final Throwable exception) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-
-        final String dispMessage = getDispMessage(message, exception);
-        log(dispMessage, ste, Level.INFO);
+        if (isEnabled(Level.INFO)) {
+            log(message, exception, WALKER.getCallerClass(), Level.INFO);
+        }
     }
 
     public void debug(final Object message, final Throwable exception) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-
-        final String dispMessage = getDispMessage(message, exception);
-        log(dispMessage, ste, Level.DEBUG);
+        if (isEnabled(Level.DEBUG)) {
+            log(message, exception, WALKER.getCallerClass(), Level.DEBUG);
+        }
     }
 
     public void warn(final Object message, final Throwable exception) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-
-        final String dispMessage = getDispMessage(message, exception);
-        log(dispMessage, ste, Level.WARN);
+        if (isEnabled(Level.WARN)) {
+            log(message, exception, WALKER.getCallerClass(), Level.WARN);
+        }
     }
 
     public void error(final Object message, final Throwable exception) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
+        if (isEnabled(Level.ERROR)) {
+            log(message, exception, WALKER.getCallerClass(), Level.ERROR);
+        }
+    }
+
+    /**
+     * Logs at DEBUG with {} placeholders. Nothing is rendered or allocated
+     * when DEBUG is not printed.
+     *
+     * @param pattern message with {} placeholders.
+     * @param arg value for the placeholder.
+     */
+    public void debugp(final String pattern, final Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            logp(
+                Level.DEBUG,
+                WALKER.getCallerClass(),
+                pattern,
+                1,
+                arg,
+                null,
+                null,
+                null);
+        }
+    }
+
+    public void debugp(final String pattern, final Object arg1,
+                       final Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            logp(
+                Level.DEBUG,
+                WALKER.getCallerClass(),
+                pattern,
+                2,
+                arg1,
+                arg2,
+                null,
+                null);
+        }
+    }
+
+    public void debugp(final String pattern, final Object arg1,
+                       final Object arg2, final Object arg3) {
+        if (isEnabled(Level.DEBUG)) {
+            logp(
+                Level.DEBUG,
+                WALKER.getCallerClass(),
+                pattern,
+                3,
+                arg1,
+                arg2,
+                arg3,
+                null);
+        }
+    }
+
+    /**
+     * Prefer the fixed arity overloads, the varargs array is allocated by the
+     * caller even when DEBUG is not printed.
+     */
+    public void debugp(final String pattern, final Object... args) {
+        if (isEnabled(Level.DEBUG)) {
+            logp(
+                Level.DEBUG,
+                WALKER.getCallerClass(),
+                pattern,
+                args == null ? 0 : args.length,
+                null,
+                null,
+                null,
+                args);
+        }
+    }
+
+    /**
+     * Logs at INFO with {} placeholders. Nothing is rendered or allocated
+     * when INFO is not printed.
+     *
+     * @param pattern message with {} placeholders.
+     * @param arg value for the placeholder.
+     */
+    public void infop(final String pattern, final Object arg) {
+        if (isEnabled(Level.INFO)) {
+            logp(
+                Level.INFO,
+                WALKER.getCallerClass(),
+                pattern,
+                1,
+                arg,
+                null,
+                null,
+                null);
+        }
+    }
+
+    public void infop(final String pattern, final Object arg1,
+                      final Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            logp(
+                Level.INFO,
+                WALKER.getCallerClass(),
+                pattern,
+                2,
+                arg1,
+                arg2,
+                null,
+                null);
+        }
+    }
+
+    public void infop(final String pattern, final Object arg1,
+                      final Object arg2, final Object arg3) {
+        if (isEnabled(Level.INFO)) {
+            logp(
+                Level.INFO,
+                WALKER.getCallerClass(),
+                pattern,
+                3,
+                arg1,
+                arg2,
+                arg3,
+                null);
+        }
+    }
+
+    /**
+     * Prefer the fixed arity overloads, the varargs array is allocated by the
+     * caller even when INFO is not printed.
+     */
+    public void infop(final String pattern, final Object... args) {
+        if (isEnabled(Level.INFO)) {
+            logp(
+                Level.INFO,
+                WALKER.getCallerClass(),
+                pattern,
+                args == null ? 0 : args.length,
+                null,
+                null,
+                null,
+                args);
+        }
+    }
+
+    /**
+     * Logs at WARN with {} placeholders. Nothing is rendered or allocated
+     * when WARN is not printed.
+     *
+     * @param pattern message with {} placeholders.
+     * @param arg value for the placeholder.
+     */
+    public void warnp(final String pattern, final Object arg) {
+        if (isEnabled(Level.WARN)) {
+            logp(
+                Level.WARN,
+                WALKER.getCallerClass(),
+                pattern,
+                1,
+                arg,
+                null,
+                null,
+                null);
+        }
+    }
+
+    public void warnp(final String pattern, final Object arg1,
+                      final Object arg2) {
+        if (isEnabled(Level.WARN)) {
+            logp(
+                Level.WARN,
+                WALKER.getCallerClass(),
+                pattern,
+                2,
+                arg1,
+                arg2,
+                null,
+                null);
+        }
+    }
+
+    public void warnp(final String pattern, final Object arg1,
+                      final Object arg2, final Object arg3) {
+        if (isEnabled(Level.WARN)) {
+            logp(
+                Level.WARN,
+                WALKER.getCallerClass(),
+                pattern,
+                3,
+                arg1,
+                arg2,
+                arg3,
+                null);
+        }
+    }
+
+    /**
+     * Prefer the fixed arity overloads, the varargs array is allocated by the
+     * caller even when WARN is not printed.
+     */
+    public void warnp(final String pattern, final Object... args) {
+        if (isEnabled(Level.WARN)) {
+            logp(
+                Level.WARN,
+                WALKER.getCallerClass(),
+                pattern,
+                args == null ? 0 : args.length,
+                null,
+                null,
+                null,
+                args);
+        }
+    }
+
+    /**
+     * Logs at ERROR with {} placeholders. Nothing is rendered or allocated
+     * when ERROR is not printed.
+     *
+     * @param pattern message with {} placeholders.
+     * @param arg value for the placeholder.
+     */
+    public void errorp(final String pattern, final Object arg) {
+        if (isEnabled(Level.ERROR)) {
+            logp(
+                Level.ERROR,
+                WALKER.getCallerClass(),
+                pattern,
+                1,
+                arg,
+                null,
+                null,
+                null);
+        }
+    }
+
+    public void errorp(final String pattern, final Object arg1,
+                       final Object arg2) {
+        if (isEnabled(Level.ERROR)) {
+            logp(
+                Level.ERROR,
+                WALKER.getCallerClass(),
+                pattern,
+                2,
+                arg1,
+                arg2,
+                null,
+                null);
+        }
+    }
 
-        final String dispMessage = getDispMessage(message, exception);
-        log(dispMessage, ste, Level.ERROR);
+    public void errorp(final String pattern, final Object arg1,
+                       final Object arg2, final Object arg3) {
+        if (isEnabled(Level.ERROR)) {
+            logp(
+                Level.ERROR,
+                WALKER.getCallerClass(),
+                pattern,
+                3,
+                arg1,
+                arg2,
+                arg3,
+                null);
+        }
+    }
+
+    /**
+     * Prefer the fixed arity overloads, the varargs array is allocated by the
+     * caller even when ERROR is not printed.
+     */
+    public void errorp(final String pattern, final Object... args) {
+        if (isEnabled(Level.ERROR)) {
+            logp(
+                Level.ERROR,
+                WALKER.getCallerClass(),
+                pattern,
+                args == null ? 0 : args.length,
+                null,
+                null,
+                null,
+                args);
+        }
     }
 
     public void log(final Throwable message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, defaultLevel);
+        final int level = config.getDefaultLevel();
+        if (isEnabled(level)) {
+            log("", message, WALKER.getCallerClass(), level);
+        }
     }
 
     public void info(final Throwable message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.INFO);
+        if (isEnabled(Level.INFO)) {
+            log("", message, WALKER.getCallerClass(), Level.INFO);
+        }
     }
 
     public void debug(final Throwable message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.DEBUG);
+        if (isEnabled(Level.DEBUG)) {
+            log("", message, WALKER.getCallerClass(), Level.DEBUG);
+        }
     }
 
     public void warn(final Throwable message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.WARN);
+        if (isEnabled(Level.WARN)) {
+            log("", message, WALKER.getCallerClass(), Level.WARN);
+        }
     }
 
     public void error(final Throwable message) {
-        final StackTraceElement ste = Thread.currentThread().getStackTrace()[2];
-        log(message, ste, Level.ERROR);
+        if (isEnabled(Level.ERROR)) {
+            log("", message, WALKER.getCallerClass(), Level.ERROR);
+        }
     }
 
-    private void log(final Throwable message, final StackTraceElement ste,
-                     final int level) {
-        if (printToConsole && isPrinted(getClassName(ste), level)) {
+    /**
+     * Cheap check done before anything about the caller is resolved.
+     *
+     * @param level level of the log call.
+     * @return false when no configured category could print the level.
+     */
+    private boolean isEnabled(final int level) {
+        return directAppender != null && config.isEnabled(level);
+    }
 
-            final String classNameDisp = getClassNameDisp(ste);
-            final String methName = getMethodDisp(ste);
-            final int lineNo = ste.getLineNumber();
+    /** Checks the caller category before the message is rendered. */
+    private void log(final Object message, final Throwable exception,
+                     final Class<?> caller, final int level) {
+        final LoggerConfig current = config;
+        final String className = getClassName(caller);
+        if (current.isPrinted(className, level)) {
+            final StackWalker.StackFrame frame =
+                    callerFrame(current, exception);
+            if (isAdmitted(current, className, frame, exception)) {
+                emit(
+                    current,
+                    level,
+                    className,
+                    frame,
+                    String.valueOf(message),
+                    exception);
+            }
+        }
+    }
 
-            print(
-                classNameDisp + methName + ":" + lineNo + SEP_MSG + "\n"
-                        + stackTraceToString(message),
-                level);
+    /** String.format only once the caller category is printed. */
+    private void logf(final int level, final Class<?> caller,
+                      final String format, final Object... args) {
+        final LoggerConfig current = config;
+        final String className = getClassName(caller);
+        if (current.isPrinted(className, level)) {
+            final StackWalker.StackFrame frame = callerFrame(current, null);
+            if (isAdmitted(current, className, frame, null)) {
+                emit(
+                    current,
+                    level,
+                    className,
+                    frame,
+                    String.format(format, args),
+                    null);
+            }
         }
     }
 
     /**
-     * Converts the stack trace to a string object.
+     * Substitutes {} placeholders only once the caller category is printed.
+     * A trailing Throwable without a placeholder is logged as the exception.
      *
-     * @param exception - the throwable instance of which to translate.
-     * @return String representation of the stack trace.
-     * @exception IllegalArgumentException when the e parameter is null.
+     * @see MessageFormatter#format(String, int, Object, Object, Object,
+     *      Object[])
      */
-    String stackTraceToString(final Throwable exception) {
-        String retval = null; //NOPMD: null default, conditionally redefine.
-        if (exception != null) {
-            final StringBuilder strBuilder = new StringBuilder();
-            final StackTraceElement[] steArr = exception.getStackTrace();
-            for (final StackTraceElement stackTraceElement : steArr) {
-                strBuilder.append(stackTraceElement.toString());
-                strBuilder.append('\n');
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private void logp(final int level, final Class<?> caller,
+                      final String pattern, final int count,
+                      final Object arg1, final Object arg2, final Object arg3,
+                      final Object[] args) {
+        final LoggerConfig current = config;
+        final String className = getClassName(caller);
+        if (current.isPrinted(className, level)) {
+            final Throwable exception = MessageFormatter
+                .trailingThrowable(pattern, count, arg1, arg2, arg3, args);
+
+            final StackWalker.StackFrame frame =
+                    callerFrame(current, exception);
+            if (isAdmitted(current, className, frame, exception)) {
+                emit(
+                    current,
+                    level,
+                    className,
+                    frame,
+                    MessageFormatter.format(
+                        pattern,
+                        exception == null ? count : count - 1,
+                        arg1,
+                        arg2,
+                        arg3,
+                        args),
+                    exception);
             }
-            retval = strBuilder.toString();
+        }
+    }
+
+    /**
+     * Walks the stack for the calling frame, when the method is shown or when
+     * the frame is needed to find duplicates.
+     *
+     * @return null when not needed.
+     */
+    private StackWalker.StackFrame callerFrame(final LoggerConfig current,
+                                               final Throwable exception) {
+        return current.isShowMethod()
+                || exception != null && current.getDedupNanos() > 0
+                        ? WALKER.walk(CALLER_FRAME)
+                        : null;
+    }
+
+    /**
+     * Drops repeats of an exception from the same call site within the dedup
+     * window, then applies the rate limit of the category. Checked before the
+     * message is rendered.
+     */
+    private boolean isAdmitted(final LoggerConfig current,
+                               final String className,
+                               final StackWalker.StackFrame frame,
+                               final Throwable exception) {
+        boolean retval = true; //NOPMD: true default, conditionally redefine.
+        if (current.isSuppressing()) {
+            final long now = System.nanoTime();
+            final long window = current.getDedupNanos();
+            final RateLimiter limiter = current.getRateLimiter(className);
+
+            retval = (exception == null || window == 0 || !suppressor
+                .isDuplicate(
+                    className,
+                    frame == null ? 0 : frame.getLineNumber(),
+                    exception,
+                    window,
+                    now))
+                    && (limiter == RateLimiter.UNLIMITED
+                            || limiter.tryAcquire(now));
         }
         return retval;
     }
 
-    /** Checks the className against the ignore Set; */
-    private boolean isPrinted(final String className, final int level) {
-        final Ano<Boolean> retval = new Ano<>(true);
-        if (className != null) {
-            retval.set(!isInIgnoreList(className));
-            if (retval.get()) {
-                retval.set(isUnIgnoredPrinted(retval.get(), className, level));
+    /** Adds the calling method and line, when shown. */
+    private void emit(final LoggerConfig current, final int level,
+                      final String className,
+                      final StackWalker.StackFrame caller,
+                      final String message, final Throwable exception) {
+        final StackWalker.StackFrame frame =
+                current.isShowMethod() ? caller : null;
+
+        dispatch(
+            SCRATCH_EVENT
+                .get()
+                .set(
+                    System.currentTimeMillis(),
+                    level,
+                    className,
+                    frame == null ? null : frame.getMethodName(),
+                    frame == null ? 0 : frame.getLineNumber(),
+                    Thread.currentThread().getName(),
+                    message,
+                    exception));
+    }
+
+    /**
+     * Sends the event to the background writer when async, otherwise formats
+     * and writes it on the calling thread. Only the console is flushed per
+     * event, the log file batches in its buffer until it fills up, rolls, or
+     * is flushed or closed.
+     */
+    private void dispatch(final LogEvent event) {
+        final AsyncAppender background = asyncAppender;
+        if (background == null) {
+            final Appender direct = directAppender;
+            if (direct != null) {
+                direct.append(event);
+                if (config.isPrintToConsole()) {
+                    consoleAppender.flush();
+                }
             }
+        } else {
+            background.append(event);
         }
-        return retval.get();
     }
 
-    private boolean isUnIgnoredPrinted(final boolean pCurrVal,
-                                       final String className,
-                                       final int level) {
-        final Ano<Boolean> retval = new Ano<>(pCurrVal);
-        final Ano<Boolean> isIdentified = new Ano<>(false);
-
-        for (final String nextClsLvl : classLevel.keySet()) {
-            if (className.startsWith(nextClsLvl)) {
-                retval.set(
-                    level >= classLevel.get(nextClsLvl)
-                            && classLevel.get(nextClsLvl) != Level.OFF);
+    /**
+     * Renders the event with the configured layout.
+     *
+     * @param event event to render.
+     * @param out destination buffer.
+     */
+    void format(final LogEvent event, final StringBuilder out) {
+        (config.isJsonLayout() ? jsonLayout : textLayout).format(event, out);
+    }
 
-                isIdentified.set(true);
+    /**
+     * Renders the event as "time level class.method:line - message".
+     *
+     * @param event event to render.
+     * @param out destination buffer.
+     */
+    private void formatText(final LogEvent event, final StringBuilder out) {
+        config.getTimestampFormat().formatTo(event.timestamp, out);
+        out
+            .append(' ')
+            .append(LOG_PREFIX[event.level - 1])
+            .append(' ');
+
+        if (event.className != null) {
+            out.append(getClassNameDisp(event.className));
+            if (event.methodName != null) {
+                out
+                    .append('.')
+                    .append(event.methodName)
+                    .append(':')
+                    .append(event.lineNo);
             }
+            out.append(SEP_MSG);
         }
-        if (!isIdentified.get()) {
-            retval.set(level >= defaultLevel);
+
+        out.append(event.message).append('\n');
+        if (event.thrown != null) {
+            ThrowableRenderer.render(
+                event.thrown,
+                config.getThrowableDepth(),
+                out);
         }
-        return retval.get();
     }
 
-    boolean isInIgnoreList(final String className) {
-        boolean retval = false; //NOPMD: false default, conditionally redefine.
-        for (final String nextIgnore : ignoreSet) {
-            if (className.startsWith(nextIgnore)) {
-                retval = true;
-                break;
-            }
+    /**
+     * Converts the stack trace to a string object, with its cause and
+     * suppressed exceptions.
+     *
+     * @param exception - the throwable instance of which to translate.
+     * @return String representation of the stack trace, null when exception
+     *         is null.
+     */
+    String stackTraceToString(final Throwable exception) {
+        String retval = null; //NOPMD: null default, conditionally redefine.
+        if (exception != null) {
+            final StringBuilder strBuilder = new StringBuilder();
+            ThrowableRenderer
+                .render(exception, config.getThrowableDepth(), strBuilder);
+            retval = strBuilder.toString();
         }
         return retval;
     }
@@ -524,21 +1339,19 @@ public class OneLogger {
                 : message.toString() + '\n' + stackTraceToString(exception);
     }
 
-    String getMethodDisp(final StackTraceElement ste) {
-        return isShowMethod() ? '.' + ste.getMethodName() : "";
-    }
-
-    String getClassNameDisp(final StackTraceElement ste) {
-
-        final String className =
-                "".equals(activeClass) ? ste.getClassName() : activeClass;
+    String getClassNameDisp(final String className) {
 
+        final LoggerConfig current = config;
+        final String basePackage = current.getBasePackage();
         final Ano<String> retval = new Ano<>();
-        if (showPackage) {
+        if (current.isShowPackage()) {
             retval.set(className);
-            if (shortPackage) {
-                retval.set(
-                    className.substring(INSTANCE.basePackage.length() + 1));
+            final int baseLength = basePackage.length();
+            if (current.isShortPackage() && baseLength > 0
+                    && className.length() > baseLength
+                    && className.startsWith(basePackage)
+                    && className.charAt(baseLength) == '.') {
+                retval.set(className.substring(baseLength + 1));
             }
         } else {
             retval.set(className.substring(className.lastIndexOf('.') + 1));
@@ -546,60 +1359,144 @@ public class OneLogger {
         return retval.get();
     }
 
-    String getClassName(final StackTraceElement ste) {
-        return "".equals(activeClass) ? ste.getClassName() : activeClass;
+    String getClassName(final Class<?> caller) {
+        return caller.getName();
     }
 
-    @SuppressWarnings("PMD.SystemPrintln")
+    /**
+     * Prints the logger's own messages to the console, without caller
+     * location.
+     */
     private void print(final String message, final int level) {
-        final Date now = new Date();
+        consoleAppender.append(
+            SCRATCH_EVENT
+                .get()
+                .set(
+                    System.currentTimeMillis(),
+                    level,
+                    null,
+                    null,
+                    0,
+                    null,
+                    message,
+                    null));
+        consoleAppender.flush();
+    }
 
-        final DateFormat format =
-                new SimpleDateFormat("HH:mm:ss.SSS", Locale.getDefault());
+    /**
+     * Writes the logger's own message to the enabled outputs, used for the
+     * summary of suppressed events.
+     */
+    private void report(final String message) {
+        dispatch(
+            SCRATCH_EVENT
+                .get()
+                .set(
+                    System.currentTimeMillis(),
+                    Level.WARN,
+                    null,
+                    null,
+                    0,
+                    null,
+                    message,
+                    null));
+    }
 
-        if (Level.ERROR == level || Level.WARN == level) {
-            System.setErr(ORIG_ERR_STREAM);
+    /**
+     * Turns background writing on or off. Turning it off drains and stops the
+     * writer thread.
+     *
+     * @param pAsync true to log from a background thread.
+     */
+    public synchronized void setAsync(final boolean pAsync) {
+        async = pAsync;
+        outputsChanged();
+    }
 
-            System.err.printf(
-                "%s %5s %s\n",
-                format.format(now),
-                LOG_PREFIX[level - 1],
-                message);
+    /**
+     * Rebuilds the enabled outputs, and restarts the background writer on top
+     * of them when async. The previous writer is drained before returning.
+     */
+    private synchronized void outputsChanged() {
+        Appender direct = config.isPrintToConsole() ? consoleAppender : null;
+        if (fileAppender != null) {
+            direct = direct == null ? fileAppender
+                    : new TeeAppender(direct, fileAppender);
+        }
+        directAppender = direct;
+
+        final AsyncAppender previous = asyncAppender;
+        asyncAppender = async && direct != null
+                ? new AsyncAppender(direct, asyncBufferSize, asyncOverflow)
+                : null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
 
-            if (!ENABLE_SYSOUT) {
-                System.setErr(EMPTY_STREAM);
-            }
+    public boolean isAsync() {
+        return asyncAppender != null;
+    }
 
-        } else {
-            System.setOut(ORIG_STREAM);
+    /**
+     * Blocks until pending events from background writing are written, and
+     * writes out what the log file has buffered.
+     */
+    public void flush() {
+        final AsyncAppender async = asyncAppender;
+        if (async != null) {
+            async.flush();
+        }
+        if (fileAppender != null) {
+            fileAppender.flush();
+        }
+    }
 
-            System.out.printf(
-                "%s %5s %s\n",
-                format.format(now),
-                LOG_PREFIX[level - 1],
-                message);
+    /**
+     * Shutdown hook of the log file. Stops background writing first so its
+     * last events reach the file, then writes out the buffer and closes.
+     */
+    private void closeFile() {
+        final AsyncAppender async = asyncAppender;
+        if (async != null) {
+            async.close();
+        }
+        fileAppender.close();
+    }
 
+    /**
+     * @param style time for HH:mm:ss.SSS, iso8601 for date, time and offset,
+     *            or epoch for milliseconds since epoch.
+     */
+    public void setTimestampFormat(final String style) {
+        final TimestampFormat timestampFormat =
+                new TimestampFormat(TimestampFormat.Style.parse(style));
+        update(builder -> builder.timestampFormat = timestampFormat);
+    }
 
-            if (!ENABLE_SYSOUT) {
-                System.setOut(EMPTY_STREAM);
-            }
-        }
+    TimestampFormat getTimestampFormat() {
+        return config.getTimestampFormat();
+    }
+
+    /**
+     * @param name text for "time level class.method:line - message" lines, or
+     *            json for one JSON object per line.
+     */
+    public void setLayout(final String name) {
+        final boolean json = "json".equalsIgnoreCase(name.trim());
+        update(builder -> builder.jsonLayout = json);
     }
 
     public void setPrintToConsole(final boolean pPrintToConsole) {
-        printToConsole = pPrintToConsole;
+        update(builder -> builder.printToConsole = pPrintToConsole);
     }
 
     public void setShowPackage(final boolean pShowPackage) {
-        showPackage = pShowPackage;
+        update(builder -> builder.showPackage = pShowPackage);
     }
 
     public void setShowMethod(final boolean pShowMethod) {
-        showMethod = pShowMethod;
-    }
-
-    private boolean isShowMethod() {
-        return showMethod;
+        update(builder -> builder.showMethod = pShowMethod);
     }
 
     /** Override. */
@@ -609,11 +1506,11 @@ public class OneLogger {
     }
 
     public void setDefaultLevel(final int pDefaultLevel) {
-        defaultLevel = pDefaultLevel;
+        update(builder -> builder.defaultLevel = pDefaultLevel);
     }
 
     public int getDefaultLevel() {
-        return defaultLevel;
+        return config.getDefaultLevel();
     }
 
 }
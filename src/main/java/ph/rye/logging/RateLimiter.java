@@ -0,0 +1,120 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free token bucket of a log category, as a generic cell rate algorithm:
+ * a single theoretical arrival time is advanced by one emission interval per
+ * event and the event is refused when it would run ahead of now by more than
+ * the burst allows. Acquiring is one CAS, retried only when another thread
+ * won the same slot.
+ *
+ * @author royce
+ */
+final class RateLimiter {
+
+
+    /** Shared by categories without a limit, never acquired. */
+    static final RateLimiter UNLIMITED = new RateLimiter("", 0, 1);
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+
+    private final transient String category;
+
+    /** Nanos between events at the sustained rate. */
+    private final transient long interval;
+
+    /** How far the arrival time may run ahead of now, the burst. */
+    private final transient long tolerance;
+
+    /**
+     * Theoretical arrival time of the next event, in System.nanoTime. Only
+     * compared by difference, nanoTime may be negative. Starts in the past so
+     * a caller that read the time just before construction is not refused.
+     */
+    private final transient AtomicLong arrival =
+            new AtomicLong(System.nanoTime() - NANOS_PER_SECOND);
+
+    /** Refused events, reported and reset by the summary. */
+    private final transient LongAdder suppressed = new LongAdder();
+
+
+    /**
+     * @param category category the limit applies to.
+     * @param perSecond sustained events per second.
+     * @param burst events allowed at once, at least 1.
+     */
+    RateLimiter(final String category, final double perSecond,
+                final int burst) {
+        assert category != null;
+        assert burst > 0;
+
+        this.category = category;
+        interval = perSecond > 0 ? (long) (NANOS_PER_SECOND / perSecond) : 0;
+        tolerance = interval * (burst - 1);
+    }
+
+
+    /**
+     * @param now current System.nanoTime.
+     * @return false when the event goes over the limit. Counted as suppressed.
+     */
+    boolean tryAcquire(final long now) {
+        boolean retval = false; //NOPMD: false default, conditionally redefine.
+        long current = arrival.get();
+        while (true) {
+            final long start = current - now > 0 ? current : now;
+            if (start - now > tolerance) {
+                suppressed.increment();
+                break;
+            }
+            if (arrival.compareAndSet(current, start + interval)) {
+                retval = true;
+                break;
+            }
+            current = arrival.get();
+        }
+        return retval;
+    }
+
+    String getCategory() {
+        return category;
+    }
+
+    /** @return events refused since the last call. */
+    long sumSuppressed() {
+        return suppressed.sumThenReset();
+    }
+
+    /**
+     * @param category category the limit applies to.
+     * @param value events per second, optionally followed by a comma and the
+     *            burst. The burst defaults to one second of events.
+     */
+    static RateLimiter parse(final String category, final String value) {
+        final String[] parts = value.split(",");
+        final double perSecond = Double.parseDouble(parts[0].trim());
+        final int burst = parts.length > 1 ? Integer.parseInt(parts[1].trim())
+                : Math.max(1, (int) Math.ceil(perSecond));
+        return new RateLimiter(category, perSecond, burst);
+    }
+
+}
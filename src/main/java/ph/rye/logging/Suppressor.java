@@ -0,0 +1,216 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Drops repeats of the same exception from the same call site within a time
+ * window, and reports what was suppressed, by duplicates and by the category
+ * rate limits, as a periodic summary from a daemon thread.
+ *
+ * @author royce
+ */
+final class Suppressor {
+
+
+    /** Millis between summaries. */
+    static final long SUMMARY_MILLIS = 10_000;
+
+    /** Call sites tracked at most, new ones are not filtered beyond this. */
+    static final int MAX_SITES = 4096;
+
+    /** Call sites listed per summary, the rest are added up. */
+    private static final int MAX_LISTED = 10;
+
+
+    private final transient Map<Site, Site> sites = new ConcurrentHashMap<>();
+
+    private final transient Supplier<LoggerConfig> config;
+    private final transient Consumer<String> report;
+
+    private transient ScheduledExecutorService timer;
+
+
+    /** A call site and exception type, with its last emitted event. */
+    private static final class Site {
+
+        private final transient String className;
+        private final transient int lineNo;
+        private final transient Class<?> thrownType;
+
+        /** System.nanoTime of the last event let through. */
+        private final transient AtomicLong emitted;
+
+        private final transient LongAdder suppressed = new LongAdder();
+
+        Site(final String className, final int lineNo,
+             final Class<?> thrownType, final long now) {
+            this.className = className;
+            this.lineNo = lineNo;
+            this.thrownType = thrownType;
+            emitted = new AtomicLong(now);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            boolean retval = this == other;
+            if (!retval && other instanceof Site) {
+                final Site site = (Site) other;
+                retval = lineNo == site.lineNo
+                        && thrownType == site.thrownType
+                        && className.equals(site.className);
+            }
+            return retval;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(className, lineNo, thrownType);
+        }
+    }
+
+
+    /**
+     * @param config current settings, for the window and rate limiters.
+     * @param report receives the summary on the timer thread.
+     */
+    Suppressor(final Supplier<LoggerConfig> config,
+               final Consumer<String> report) {
+        this.config = config;
+        this.report = report;
+    }
+
+
+    /**
+     * @param className calling class.
+     * @param lineNo calling line, 0 when unknown.
+     * @param thrown exception of the event.
+     * @param windowNanos dedup window.
+     * @param now current System.nanoTime.
+     * @return true when the same call site logged the same exception type
+     *         within the window. Counted as suppressed.
+     */
+    boolean isDuplicate(final String className, final int lineNo,
+                        final Throwable thrown, final long windowNanos,
+                        final long now) {
+        final Site probe = new Site(className, lineNo, thrown.getClass(), now);
+        Site site = sites.get(probe);
+        if (site == null && sites.size() < MAX_SITES) {
+            site = sites.putIfAbsent(probe, probe);
+        }
+
+        boolean retval = false; //NOPMD: false default, conditionally redefine.
+        if (site != null) {
+            final long emitted = site.emitted.get();
+            retval = now - emitted < windowNanos
+                    || !site.emitted.compareAndSet(emitted, now);
+            if (retval) {
+                site.suppressed.increment();
+            }
+        }
+        return retval;
+    }
+
+    /** Starts the summary timer, once. */
+    synchronized void start() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "log4one-summary");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.scheduleWithFixedDelay(
+                this::reportSummary,
+                SUMMARY_MILLIS,
+                SUMMARY_MILLIS,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void reportSummary() {
+        final String summary = summarize(System.nanoTime());
+        if (summary != null) {
+            report.accept(summary);
+        }
+    }
+
+    /**
+     * Collects and resets the suppressed counts, and forgets call sites
+     * quiet for longer than the window.
+     *
+     * @param now current System.nanoTime.
+     * @return null when nothing was suppressed.
+     */
+    String summarize(final long now) {
+        final LoggerConfig current = config.get();
+        final StringBuilder summary = new StringBuilder();
+        for (final RateLimiter limiter : current.getRateLimiters()) {
+            final long count = limiter.sumSuppressed();
+            if (count > 0) {
+                summary
+                    .append("\n  ")
+                    .append(count)
+                    .append(" over the rate limit of ")
+                    .append(limiter.getCategory());
+            }
+        }
+
+        int listed = 0;
+        long unlisted = 0;
+        for (final Iterator<Site> iter = sites.keySet().iterator(); iter
+            .hasNext();) {
+            final Site site = iter.next();
+            final long count = site.suppressed.sumThenReset();
+            if (count > 0 && listed < MAX_LISTED) {
+                listed++;
+                summary
+                    .append("\n  ")
+                    .append(count)
+                    .append(" duplicates of ")
+                    .append(site.thrownType.getName())
+                    .append(" at ")
+                    .append(site.className)
+                    .append(':')
+                    .append(site.lineNo);
+            } else if (count > 0) {
+                unlisted += count;
+            } else if (now - site.emitted.get() > current.getDedupNanos()) {
+                iter.remove();
+            }
+        }
+        if (unlisted > 0) {
+            summary
+                .append("\n  ")
+                .append(unlisted)
+                .append(" duplicates at other call sites");
+        }
+
+        return summary.length() == 0 ? null
+                : "Suppressed log events:" + summary;
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+/**
+ * Writes every event to two appenders.
+ *
+ * @author royce
+ */
+final class TeeAppender implements Appender {
+
+
+    private final transient Appender first;
+    private final transient Appender second;
+
+
+    TeeAppender(final Appender first, final Appender second) {
+        this.first = first;
+        this.second = second;
+    }
+
+
+    @Override
+    public void append(final LogEvent event) {
+        first.append(event);
+        second.append(event);
+    }
+
+    @Override
+    public void flush() {
+        first.flush();
+        second.flush();
+    }
+
+    @Override
+    public void close() {
+        first.close();
+        second.close();
+    }
+
+}
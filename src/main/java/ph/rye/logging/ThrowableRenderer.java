@@ -0,0 +1,152 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders a Throwable the way printStackTrace does, with its suppressed and
+ * cause chains. Frames shared with the enclosing trace are collapsed into
+ * "... N more". Frame strings are cached, so logging the same exception again
+ * is mostly copying.
+ *
+ * @author royce
+ */
+final class ThrowableRenderer {
+
+
+    /** Frame strings kept at most, the cache starts over past this. */
+    static final int MAX_CACHED_FRAMES = 4096;
+
+    /** No limit on the frames printed per throwable. */
+    static final int UNLIMITED = 0;
+
+    private static final Map<StackTraceElement, String> FRAMES =
+            new ConcurrentHashMap<>();
+
+    /** Enclosing frames of a top level throwable. */
+    static final StackTraceElement[] NO_FRAMES =
+            new StackTraceElement[0];
+
+
+    private ThrowableRenderer() {}
+
+
+    /**
+     * @param thrown exception to render, not null.
+     * @param maxDepth frames printed per throwable, UNLIMITED for all. The
+     *            rest are counted in "... N more".
+     * @param out receives one line per frame, each ending with a new line.
+     */
+    static void render(final Throwable thrown, final int maxDepth,
+                       final StringBuilder out) {
+        final Set<Throwable> seen =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        render(thrown, NO_FRAMES, "", "", maxDepth, seen, out);
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private static void render(final Throwable thrown,
+                               final StackTraceElement[] enclosing,
+                               final String caption, final String prefix,
+                               final int maxDepth, final Set<Throwable> seen,
+                               final StringBuilder out) {
+        out.append(prefix).append(caption);
+        if (seen.add(thrown)) {
+            out.append(thrown).append('\n');
+
+            final StackTraceElement[] trace = thrown.getStackTrace();
+            final int shown = shown(trace, enclosing, maxDepth);
+            for (int i = 0; i < shown; i++) {
+                out.append(prefix).append("\tat ").append(frame(trace[i]));
+                out.append('\n');
+            }
+            if (shown < trace.length) {
+                out
+                    .append(prefix)
+                    .append("\t... ")
+                    .append(trace.length - shown)
+                    .append(" more\n");
+            }
+
+            for (final Throwable suppressed : thrown.getSuppressed()) {
+                render(
+                    suppressed,
+                    trace,
+                    "Suppressed: ",
+                    prefix + '\t',
+                    maxDepth,
+                    seen,
+                    out);
+            }
+
+            final Throwable cause = thrown.getCause();
+            if (cause != null) {
+                render(
+                    cause,
+                    trace,
+                    "Caused by: ",
+                    prefix,
+                    maxDepth,
+                    seen,
+                    out);
+            }
+        } else {
+            out.append("[CIRCULAR REFERENCE: ").append(thrown).append("]\n");
+        }
+    }
+
+    /**
+     * @param trace frames of the throwable.
+     * @param enclosing frames of the throwable it is a cause or suppressed
+     *            exception of, those in common at the bottom are left out.
+     * @param maxDepth UNLIMITED or the most frames to show.
+     * @return frames to print from the top, the rest are "... N more".
+     */
+    static int shown(final StackTraceElement[] trace,
+                     final StackTraceElement[] enclosing,
+                     final int maxDepth) {
+        int last = trace.length - 1;
+        int enclosingLast = enclosing.length - 1;
+        while (last >= 0 && enclosingLast >= 0
+                && trace[last].equals(enclosing[enclosingLast])) {
+            last--;
+            enclosingLast--;
+        }
+        return maxDepth == UNLIMITED ? last + 1 : Math.min(last + 1, maxDepth);
+    }
+
+    /**
+     * @param element stack frame.
+     * @return element.toString(), cached.
+     */
+    static String frame(final StackTraceElement element) {
+        String retval = FRAMES.get(element);
+        if (retval == null) {
+            retval = element.toString();
+            if (FRAMES.size() >= MAX_CACHED_FRAMES) {
+                FRAMES.clear();
+            }
+            FRAMES.put(element, retval);
+        }
+        return retval;
+    }
+
+}
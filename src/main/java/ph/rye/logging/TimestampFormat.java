@@ -0,0 +1,161 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Thread safe timestamp writer. Everything up to the seconds is formatted
+ * once per second and cached, each call only appends the millis.
+ *
+ * @author royce
+ */
+final class TimestampFormat {
+
+
+    /** Output styles. */
+    enum Style {
+        /** HH:mm:ss.SSS in the default time zone. */
+        TIME,
+        /** yyyy-MM-dd'T'HH:mm:ss.SSS with zone offset. */
+        ISO8601,
+        /** Milliseconds since epoch. */
+        EPOCH;
+
+        /**
+         * @param value one of time, iso8601 or epoch, case insensitive.
+         * @return TIME for null or unknown values.
+         */
+        static Style parse(final String value) {
+            final String key = value == null ? ""
+                    : value.trim().toLowerCase(Locale.ENGLISH);
+
+            Style retval = TIME;
+            if ("iso8601".equals(key)) {
+                retval = ISO8601;
+            } else if ("epoch".equals(key)) {
+                retval = EPOCH;
+            }
+            return retval;
+        }
+    }
+
+
+    private static final DateTimeFormatter TIME_PREFIX =
+            DateTimeFormatter.ofPattern("HH:mm:ss.", Locale.ENGLISH);
+
+    private static final DateTimeFormatter ISO_PREFIX = DateTimeFormatter
+        .ofPattern("yyyy-MM-dd'T'HH:mm:ss.", Locale.ENGLISH);
+
+    private static final DateTimeFormatter ISO_OFFSET =
+            DateTimeFormatter.ofPattern("XXX", Locale.ENGLISH);
+
+    private static final int MILLIS_PER_SECOND = 1000;
+
+
+    private final transient Style style;
+    private final transient ZoneId zone;
+
+    /** Formatted second, replaced as a whole so readers never see a mix. */
+    private transient volatile Second cached;
+
+
+    /** Immutable formatted second. */
+    private static final class Second {
+
+        private final transient long epochSecond;
+        private final transient String prefix;
+        private final transient String suffix;
+
+        Second(final long epochSecond, final String prefix,
+               final String suffix) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+    }
+
+
+    TimestampFormat(final Style style) {
+        this(style, ZoneId.systemDefault());
+    }
+
+    TimestampFormat(final Style style, final ZoneId zone) {
+        assert style != null;
+        assert zone != null;
+
+        this.style = style;
+        this.zone = zone;
+        cached = format(Long.MIN_VALUE);
+    }
+
+
+    Style getStyle() {
+        return style;
+    }
+
+    /**
+     * @param epochMillis time to write.
+     * @param out destination buffer.
+     */
+    void formatTo(final long epochMillis, final StringBuilder out) {
+        if (style == Style.EPOCH) {
+            out.append(epochMillis);
+        } else {
+            final long epochSecond =
+                    Math.floorDiv(epochMillis, MILLIS_PER_SECOND);
+
+            Second second = cached;
+            if (second.epochSecond != epochSecond) {
+                second = format(epochSecond);
+                cached = second;
+            }
+
+            final int millis = Math.floorMod(epochMillis, MILLIS_PER_SECOND);
+            out.append(second.prefix);
+            if (millis < 100) {
+                out.append('0');
+            }
+            if (millis < 10) {
+                out.append('0');
+            }
+            out.append(millis).append(second.suffix);
+        }
+    }
+
+    private Second format(final long epochSecond) {
+        final ZonedDateTime dateTime = epochSecond == Long.MIN_VALUE ? null
+                : Instant.ofEpochSecond(epochSecond).atZone(zone);
+
+        Second retval;
+        if (dateTime == null) {
+            retval = new Second(epochSecond, "", "");
+        } else if (style == Style.ISO8601) {
+            retval = new Second(
+                epochSecond,
+                ISO_PREFIX.format(dateTime),
+                ISO_OFFSET.format(dateTime));
+        } else {
+            retval = new Second(epochSecond, TIME_PREFIX.format(dateTime), "");
+        }
+        return retval;
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class CommonExceptionTest {
+
+    @After
+    public void tearDown() {
+        CommonException.setAppException(RuntimeException.class);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.CommonException#wrapperException(Throwable)}.
+     */
+    @Test
+    public void testWrapperException() {
+        final IOException cause = new IOException("io");
+        final RuntimeException wrapper =
+                CommonException.wrapperException(cause);
+        Assert.assertSame(RuntimeException.class, wrapper.getClass());
+        Assert.assertSame(cause, wrapper.getCause());
+        Assert.assertTrue(wrapper.getStackTrace().length > 0);
+
+        CommonException.setAppException(AppException.class);
+        Assert.assertSame(
+            AppException.class,
+            CommonException.wrapperException(cause).getClass());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.CommonException#setAppException(Class, boolean)}.
+     */
+    @Test
+    public void testSetAppExceptionStackless() {
+        final IOException cause = new IOException("io");
+
+        CommonException.setAppException(AppException.class, true);
+        RuntimeException wrapper = CommonException.wrapperException(cause);
+        Assert.assertSame(AppException.class, wrapper.getClass());
+        Assert.assertSame(cause, wrapper.getCause());
+        Assert.assertEquals(cause.toString(), wrapper.getMessage());
+        Assert.assertEquals(0, wrapper.getStackTrace().length);
+
+        CommonException.setAppException(RuntimeException.class, true);
+        wrapper = CommonException.wrapperException(cause);
+        Assert.assertTrue(wrapper instanceof CommonException);
+        Assert.assertEquals(0, wrapper.getStackTrace().length);
+
+        CommonException.setAppException(PlainException.class, true);
+        wrapper = CommonException.wrapperException(cause);
+        Assert.assertSame(PlainException.class, wrapper.getClass());
+        Assert.assertTrue(wrapper.getStackTrace().length > 0);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.CommonException#setAppException(Class)}.
+     */
+    @Test(expected = CommonException.class)
+    public void testSetAppExceptionInvalid() {
+        CommonException.setAppException(IllegalStateException.class);
+        Assert.assertNotNull(CommonException.wrapperException(null));
+        CommonException.setAppException(NoCauseException.class);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.CommonException#setFactory(
+     * java.util.function.Function)}.
+     */
+    @Test
+    public void testSetFactory() {
+        CommonException.setFactory(IllegalStateException::new);
+        Assert.assertSame(
+            IllegalStateException.class,
+            CommonException.wrapperException(new IOException()).getClass());
+    }
+
+}
+
+class AppException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    AppException(final Throwable cause) {
+        super(cause);
+    }
+
+    AppException(final String message, final Throwable cause,
+                 final boolean suppression, final boolean stack) {
+        super(message, cause, suppression, stack);
+    }
+}
+
+class PlainException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    PlainException(final Throwable cause) {
+        super(cause);
+    }
+}
+
+class NoCauseException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,94 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ *
+ */
+public class AnnUtilTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnUtil#getAnnotation(Class, Class)}.
+     */
+    @Test
+    public void testGetAnnotation() {
+        Assert.assertEquals(
+            "base",
+            AnnUtil.getAnnotation(AnnotatedChild.class, Handler.class).value());
+        Assert.assertTrue(
+            AnnUtil.hasAnnotation(AnnotatedChild.class, Stereotype.class));
+        Assert.assertTrue(
+            AnnUtil.hasAnnotation(AnnotatedChild.class, Marker.class));
+        Assert.assertFalse(
+            AnnUtil.hasAnnotation(AnnotatedBase.class, Marker.class));
+        Assert.assertFalse(
+            AnnUtil.hasAnnotation(AnnotatedChild.class, Deprecated.class));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnUtil#getAnnotatedFields(Class, Class)}.
+     */
+    @Test
+    public void testGetAnnotatedFields() throws NoSuchFieldException {
+        final Field[] fields =
+                AnnUtil.getAnnotatedFields(AnnotatedChild.class, Marker.class);
+        Assert.assertArrayEquals(
+            new Field[] {
+                    AnnotatedChild.class.getDeclaredField("own"),
+                    AnnotatedBase.class.getDeclaredField("inherited") },
+            fields);
+        Assert.assertSame(
+            fields,
+            AnnUtil.getAnnotatedFields(AnnotatedChild.class, Marker.class));
+        Assert.assertEquals(
+            0,
+            AnnUtil.getAnnotatedFields(AnnotatedChild.class, Handler.class)
+                .length);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnUtil#getAnnotatedMethods(Class, Class)}.
+     */
+    @Test
+    public void testGetAnnotatedMethods() throws NoSuchMethodException {
+        Assert.assertArrayEquals(
+            new Method[] { AnnotatedBase.class.getDeclaredMethod("kept") },
+            AnnUtil.getAnnotatedMethods(AnnotatedChild.class, Marker.class));
+        Assert.assertEquals(
+            new HashSet<>(
+                Arrays.asList(
+                    AnnotatedBase.class.getDeclaredMethod("handle"),
+                    AnnotatedBase.class.getDeclaredMethod("kept"))),
+            new HashSet<>(
+                Arrays.asList(
+                    AnnUtil.getAnnotatedMethods(
+                        AnnotatedBase.class,
+                        Marker.class))));
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Scans the test classes, see the annotations of {@link AnnUtilTest}.
+ *
+ * @author royce
+ */
+public class AnnotationIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnotationIndex#scan(java.util.Collection,
+     * java.util.Set)}.
+     */
+    @Test
+    public void testScan() throws IOException, URISyntaxException {
+        assertIndex(
+            AnnotationIndex.scan(
+                Collections.singletonList(testClasses()),
+                Collections.emptySet()));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnotationIndex#scan(java.util.Collection,
+     * java.util.Set)}.
+     */
+    @Test
+    public void testScanJar() throws IOException, URISyntaxException {
+        final Path root = testClasses();
+        final Path jar = folder.getRoot().toPath().resolve("test.jar");
+        try (JarOutputStream output =
+                new JarOutputStream(Files.newOutputStream(jar));
+                Stream<Path> paths = Files.walk(root)) {
+            for (final Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isRegularFile(path)) {
+                    final String name =
+                            root.relativize(path).toString().replace('\\', '/');
+                    output.putNextEntry(new ZipEntry(name));
+                    output.write(Files.readAllBytes(path));
+                    output.closeEntry();
+                }
+            }
+        }
+
+        final AnnotationIndex index = AnnotationIndex.scan(
+            Collections.singletonList(jar),
+            Collections.singleton(Marker.class.getName()));
+        Assert.assertEquals(
+            Collections.singleton(Marker.class.getName()),
+            index.getAnnotationNames());
+        Assert.assertEquals(
+            Arrays.asList(
+                AnnotatedChild.class.getName(),
+                Stereotype.class.getName()),
+            index.getClassNames(Marker.class));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnotationIndex#read(Path)}.
+     */
+    @Test
+    public void testWriteRead() throws IOException, URISyntaxException {
+        final Path file = folder.getRoot().toPath().resolve("annotations.idx");
+        AnnotationIndex
+            .scan(
+                Collections.singletonList(testClasses()),
+                Collections.emptySet())
+            .write(file);
+
+        assertIndex(AnnotationIndex.read(file));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnotationIndex#read(Path)}.
+     */
+    @Test(expected = IOException.class)
+    public void testReadInvalid() throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6 });
+        AnnotationIndex.read(file);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.AnnotationIndex#read(Path)}.
+     */
+    @Test
+    public void testReadCorrupt() throws IOException {
+        final ByteArrayOutputStream negative = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(negative);
+        output.writeInt(0x41494458);
+        output.writeShort(1);
+        output.writeInt(-1);
+        assertCorrupt(negative.toByteArray());
+
+        final ByteArrayOutputStream badIndex = new ByteArrayOutputStream();
+        final DataOutputStream indexOutput = new DataOutputStream(badIndex);
+        indexOutput.writeInt(0x41494458);
+        indexOutput.writeShort(1);
+        indexOutput.writeInt(1);
+        indexOutput.writeUTF("a.B");
+        indexOutput.writeInt(1);
+        indexOutput.writeInt(5);
+        indexOutput.writeInt(0);
+        assertCorrupt(badIndex.toByteArray());
+    }
+
+    private void assertCorrupt(final byte[] content) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, content);
+        try {
+            AnnotationIndex.read(file);
+            Assert.fail("Corrupt index was read");
+        } catch (final IOException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Corrupt"));
+        }
+    }
+
+    private static void assertIndex(final AnnotationIndex index) {
+        Assert.assertEquals(
+            Arrays.asList(
+                AnnotatedChild.class.getName(),
+                Stereotype.class.getName()),
+            index.getClassNames(Marker.class));
+        Assert.assertEquals(
+            Arrays.asList(AnnotatedChild.class.getName()),
+            index.getClassNames(Stereotype.class));
+
+        final List<String> handlers = index.getClassNames(Handler.class);
+        Assert.assertEquals(
+            Arrays.asList(
+                AnnotatedBase.class.getName(),
+                AnnotatedChild.class.getName()),
+            handlers);
+        Assert.assertTrue(index.getClassNames(Deprecated.class).isEmpty());
+    }
+
+    private static Path testClasses() throws URISyntaxException {
+        return Paths.get(
+            AnnotationIndexTest.class
+                .getProtectionDomain()
+                .getCodeSource()
+                .getLocation()
+                .toURI());
+    }
+
+}
@@ -0,0 +1,283 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ *
+ */
+public class BeanUtilTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#getProperty(Object, String)}.
+     */
+    @Test
+    public void testGetProperty() throws NoSuchMethodException {
+        final PersonBean bean = new PersonBean();
+        bean.name = "Royce";
+        bean.age = 40;
+        bean.active = true;
+        bean.id = 7L;
+
+        Assert.assertEquals("Royce", BeanUtil.getProperty(bean, "name"));
+        Assert.assertEquals(40, BeanUtil.getProperty(bean, "age"));
+        Assert.assertEquals(Boolean.TRUE, BeanUtil.getProperty(bean, "active"));
+        Assert.assertEquals(7L, BeanUtil.getProperty(bean, "id"));
+
+        bean.name = "Remulla";
+        Assert.assertEquals("Remulla", BeanUtil.getProperty(bean, "name"));
+
+        Assert.assertEquals(Boolean.FALSE, BeanUtil.getProperty("a", "empty"));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#getProperty(Object, String)}.
+     */
+    @Test(expected = NoSuchMethodException.class)
+    public void testGetProperty_missing() throws NoSuchMethodException {
+        BeanUtil.getProperty(new PersonBean(), "salary");
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#getProperty(Object, String)}.
+     */
+    @Test
+    public void testGetProperty_getterFails() throws NoSuchMethodException {
+        try {
+            BeanUtil.getProperty(new PersonBean(), "broken");
+            Assert.fail();
+        } catch (final RuntimeException e) {
+            Assert.assertTrue(
+                e.getCause().getCause() instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#setProperty(Object, String, Object)}.
+     */
+    @Test
+    public void testSetProperty() throws NoSuchMethodException {
+        final PersonBean bean = new PersonBean();
+        BeanUtil.setProperty(bean, "name", "Royce");
+        BeanUtil.setProperty(bean, "age", 40);
+        BeanUtil.setProperty(bean, "id", 7L);
+
+        Assert.assertEquals("Royce", bean.name);
+        Assert.assertEquals(40, bean.age);
+        Assert.assertEquals(7L, bean.id);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#setProperty(Object, String, Object)}.
+     */
+    @Test(expected = NoSuchMethodException.class)
+    public void testSetProperty_missing() throws NoSuchMethodException {
+        try {
+            BeanUtil.setProperty(new PersonBean(), "active", true);
+        } catch (final NoSuchMethodException e) {
+            Assert.assertEquals(0, e.getStackTrace().length);
+            throw e;
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#findProperty(Object, String)}.
+     */
+    @Test
+    public void testFindProperty() {
+        final PersonBean bean = new PersonBean();
+        bean.name = "Royce";
+
+        Assert.assertEquals(
+            Optional.of("Royce"),
+            BeanUtil.findProperty(bean, "name"));
+        Assert.assertFalse(BeanUtil.findProperty(bean, "salary").isPresent());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#trySetProperty(Object, String,
+     * Object)}.
+     */
+    @Test
+    public void testTrySetProperty() {
+        final PersonBean bean = new PersonBean();
+        Assert.assertTrue(BeanUtil.trySetProperty(bean, "name", "Royce"));
+        Assert.assertEquals("Royce", bean.name);
+        Assert.assertFalse(BeanUtil.trySetProperty(bean, "active", true));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#findPropertyType(Object, String)}.
+     */
+    @Test
+    public void testFindPropertyType() {
+        Assert.assertEquals(
+            Optional.of(Integer.TYPE),
+            BeanUtil.findPropertyType(new PersonBean(), "age"));
+        Assert.assertEquals(
+            Optional.empty(),
+            BeanUtil.findPropertyType(new PersonBean(), "salary"));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#copyProperties(Object, Object)}.
+     */
+    @Test
+    public void testCopyProperties() {
+        final PersonBean source = new PersonBean();
+        source.name = "Royce";
+        source.age = 40;
+        source.id = 7L;
+
+        final PersonDto target = new PersonDto();
+        target.active = "unchanged";
+        BeanUtil.copyProperties(source, target);
+
+        Assert.assertEquals("Royce", target.name);
+        Assert.assertEquals(40L, target.age);
+        Assert.assertEquals(Long.valueOf(7), target.id);
+        Assert.assertEquals("unchanged", target.active);
+        Assert.assertEquals(
+            3,
+            CopyPlan.of(PersonBean.class, PersonDto.class).size());
+    }
+
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.BeanUtil#copyProperties(Object, Object)}.
+     */
+    @Test
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testCopyProperties_overloadedSetter() {
+        final CounterBean source = new CounterBean();
+        source.count = 3;
+
+        final CounterDto target = new CounterDto();
+        BeanUtil.copyProperties(source, target);
+
+        Assert.assertEquals("int 3", target.count);
+    }
+
+}
+
+class CounterBean {
+    int count;
+
+    public int getCount() {
+        return count;
+    }
+}
+
+class CounterDto {
+    String count;
+
+    public String getCount() {
+        return count;
+    }
+
+    public void setCount(final String count) {
+        this.count = count;
+    }
+
+    public void setCount(final long count) {
+        this.count = "long " + count;
+    }
+
+    public void setCount(final int count) {
+        this.count = "int " + count;
+    }
+}
+
+class BaseBean {
+    long id;
+
+    public long getId() {
+        return id;
+    }
+}
+
+class PersonBean extends BaseBean {
+    String name;
+    int age;
+    boolean active;
+
+    public String getName() {
+        return name;
+    }
+
+    int getAge() {
+        return age;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getBroken() {
+        throw new IllegalStateException();
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    void setAge(final int age) {
+        this.age = age;
+    }
+
+    public void setId(final long id) {
+        this.id = id;
+    }
+}
+
+class PersonDto {
+    String name;
+    long age;
+    Long id;
+    String active;
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    public void setAge(final long age) {
+        this.age = age;
+    }
+
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    /** Not copied, a boolean does not fit a String. */
+    public void setActive(final String active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class DecoderTest {
+
+    /**
+     * Test method for {@link ph.rye.common.lang.Decoder#apply(Object)}.
+     */
+    @Test
+    public void testApplyLinear() {
+        final Decoder<String, Integer> sut = Decoder
+            .<String, Integer>builder()
+            .when("HIGH", 1)
+            .when("LOW", 3)
+            .when("HIGH", 9)
+            .otherwise(2)
+            .build();
+
+        Assert.assertTrue(sut instanceof Decoder.Linear);
+        Assert.assertEquals(Integer.valueOf(1), sut.apply("HIGH"));
+        Assert.assertEquals(Integer.valueOf(3), sut.apply("LOW"));
+        Assert.assertEquals(Integer.valueOf(2), sut.apply("MEDIUM"));
+        Assert.assertEquals(Integer.valueOf(2), sut.apply(null));
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.lang.Decoder#apply(Object)}.
+     */
+    @Test
+    public void testApplyHashed() {
+        final Decoder.Builder<String, Integer> builder = Decoder.builder();
+        for (int i = 0; i < Decoder.LINEAR_LIMIT * 2; i++) {
+            builder.when("key" + i, i);
+        }
+        final Decoder<String, Integer> sut =
+                builder.when(null, -1).otherwise(null).build();
+
+        Assert.assertTrue(sut instanceof Decoder.Hashed);
+        Assert.assertEquals(Integer.valueOf(5), sut.apply("key5"));
+        Assert.assertEquals(Integer.valueOf(-1), sut.apply(null));
+        Assert.assertNull(sut.apply("other"));
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.lang.Decoder#apply(Object)}.
+     */
+    @Test
+    public void testApplyDense() {
+        final Decoder.Builder<Object, String> builder = Decoder.builder();
+        for (int i = -3; i < 20; i++) {
+            builder.when(i, "v" + i);
+        }
+        final Decoder<Object, String> sut = builder.otherwise("none").build();
+
+        Assert.assertTrue(sut instanceof Decoder.Dense);
+        Assert.assertEquals("v-3", sut.apply(-3));
+        Assert.assertEquals("v19", sut.apply(19));
+        Assert.assertEquals("none", sut.apply(20));
+        Assert.assertEquals("none", sut.apply(5L));
+        Assert.assertEquals("none", sut.apply(null));
+
+        final Decoder<Object, Object> chars = Decoder.of('a', 'A', 'b', 'B');
+        Assert.assertTrue(chars instanceof Decoder.Dense);
+        Assert.assertEquals('B', chars.apply('b'));
+        Assert.assertNull(chars.apply('z'));
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.lang.Decoder#apply(Object)}.
+     */
+    @Test
+    public void testApplySparse() {
+        final Decoder<Object, Object> sut =
+                Decoder.of(1, "one", 1_000_000, "million", "other");
+
+        Assert.assertTrue(sut instanceof Decoder.Linear);
+        Assert.assertEquals("million", sut.apply(1_000_000));
+        Assert.assertEquals("other", sut.apply(2));
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.lang.Decoder#apply(Object)}, a
+     * null search value only matches null, unlike
+     * {@link ObjectUtil#decode(Object, Object, Object...)}.
+     */
+    @Test
+    public void testApplyNullSearch() {
+        final Decoder<Object, Object> sut = Decoder.of(null, "x", "d");
+
+        Assert.assertEquals("d", sut.apply("A"));
+        Assert.assertEquals("x", sut.apply(null));
+    }
+
+}
@@ -0,0 +1,116 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.MissingResourceException;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.function.IntSupplier;
+
+/**
+ * Timing of lookups that miss, thrown against the non throwing variants.
+ * Not a unit test, run after test-compile with:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     ph.rye.common.lang.LookupMissBench
+ * </pre>
+ *
+ * @author royce
+ */
+public final class LookupMissBench {
+
+
+    private static final int CALLS = 1_000_000;
+
+    /** Keeps the JIT from dropping the timed work. */
+    private static volatile int sink;
+
+
+    private LookupMissBench() {}
+
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    public static void main(final String[] args) throws IOException {
+        //what OneLogger reads log4one.properties into.
+        final ResourceBundle bundle = new PropertyResourceBundle(
+            new StringReader("log4one.defaultLevel=INFO\n"));
+        final Probe bean = new Probe();
+
+        System.out.printf("bundle key, exception     %6d ns%n", time(() -> {
+            int retval = 0;
+            try {
+                retval = bundle.getString("log4one.missing").length();
+            } catch (final MissingResourceException e) {
+                retval = 1;
+            }
+            return retval;
+        }));
+        System.out.printf("bundle key, containsKey   %6d ns%n", time(
+            () -> bundle.containsKey("log4one.missing") ? 0 : 1));
+
+        System.out.printf("field, getDeclaredField   %6d ns%n", time(() -> {
+            int retval = 0;
+            try {
+                retval = Probe.class.getDeclaredField("missing").getModifiers();
+            } catch (final NoSuchFieldException e) {
+                retval = 1;
+            }
+            return retval;
+        }));
+        System.out.printf("field, lookupField        %6d ns%n", time(
+            () -> ReflectUtil.lookupField(Probe.class, "missing").isPresent()
+                    ? 0 : 1));
+
+        System.out.printf("getter, stackless throw   %6d ns%n", time(() -> {
+            int retval = 0;
+            try {
+                retval = BeanUtil.getProperty(bean, "missing").hashCode();
+            } catch (final NoSuchMethodException e) {
+                retval = 1;
+            }
+            return retval;
+        }));
+        System.out.printf("getter, findProperty      %6d ns%n", time(
+            () -> BeanUtil.findProperty(bean, "missing").isPresent() ? 0 : 1));
+    }
+
+    /** @return nanos per call, after a warm up run of as many calls. */
+    private static long time(final IntSupplier body) {
+        for (int i = 0; i < CALLS; i++) {
+            sink += body.getAsInt();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += body.getAsInt();
+        }
+        return (System.nanoTime() - start) / CALLS;
+    }
+
+
+    /** A bean without the looked up members. */
+    public static final class Probe {
+
+        private transient int value;
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+}
@@ -88,6 +88,9 @@ public class ObjectUtilTest {
 
 	Assert.assertNull(ObjectUtil.decode('a', 'a'));
 
+	//null search value, matched through isEqual.
+	Assert.assertEquals("x", ObjectUtil.decode("A", null, "x", "d"));
+	Assert.assertEquals("x", ObjectUtil.decode(null, null, "x", "d"));
 
     }
 
@@ -0,0 +1,131 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.lang;
+
+import java.lang.reflect.Method;
+
+/**
+ * Timing of BeanUtil.getProperty against a direct getter call and the
+ * reflective lookup it used to do per call. Not a unit test, run after
+ * test-compile with:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes \
+ *     ph.rye.common.lang.PropertyAccessBench
+ * </pre>
+ *
+ * @author royce
+ */
+public final class PropertyAccessBench {
+
+
+    private static final int BEANS = 1024;
+
+    private static final int ROUNDS = 2_000;
+
+    /** Keeps the JIT from dropping the timed work. */
+    private static volatile int sink;
+
+
+    private PropertyAccessBench() {}
+
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    public static void main(final String[] args) throws Exception {
+        final Row[] rows = new Row[BEANS];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Row("name" + i, i);
+        }
+
+        System.out.printf("direct getter  %6d ns%n", time(rows, row -> {
+            return row.getName().length() + row.getCount();
+        }));
+        System.out.printf("getProperty    %6d ns%n", time(rows, row -> {
+            return ((String) BeanUtil.getProperty(row, "name")).length()
+                    + (Integer) BeanUtil.getProperty(row, "count");
+        }));
+        System.out.printf("old path       %6d ns%n", time(rows, row -> {
+            return ((String) reflectiveGet(row, "name")).length()
+                    + (Integer) reflectiveGet(row, "count");
+        }));
+    }
+
+    /**
+     * What getProperty did per call before the accessor cache, through
+     * ReflectUtil.invokeMethod.
+     */
+    private static Object reflectiveGet(final Object bean,
+                                        final String property)
+            throws Exception {
+        final Method getter = bean
+            .getClass()
+            .getDeclaredMethod(
+                "get" + Character.toUpperCase(property.charAt(0))
+                        + property.substring(1));
+        //ReflectUtil.invokeMethod made it accessible through reflection too.
+        Method.class
+            .getDeclaredMethod("setAccessible", Boolean.TYPE)
+            .invoke(getter, Boolean.TRUE);
+        return getter.invoke(bean);
+    }
+
+    /**
+     * @return nanos per property read, two reads per row, after a warm up
+     *         run.
+     */
+    private static long time(final Row[] rows, final RowReader reader)
+            throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            for (final Row row : rows) {
+                sink += reader.read(row);
+            }
+        }
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (final Row row : rows) {
+                sink += reader.read(row);
+            }
+        }
+        return (System.nanoTime() - start) / (2L * ROUNDS * rows.length);
+    }
+
+
+    @FunctionalInterface
+    private interface RowReader {
+        int read(Row row) throws Exception;
+    }
+
+    /** A bean of the row mapping loop. */
+    public static final class Row {
+
+        private final transient String name;
+        private final transient int count;
+
+        Row(final String name, final int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+}
@@ -15,6 +15,12 @@
  */
 package ph.rye.common.lang;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Supplier;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -34,8 +40,323 @@ public class ReflectUtilTest {
         Assert.assertSame(1, ReflectUtil.getAllFields(new Dummy()).length);
     }
 
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#getField(Object, String)}.
+     */
+    @Test
+    public void testGetField() {
+        final Field field = ReflectUtil.getField(new ShadowChild(), "field1");
+        Assert.assertSame(ShadowChild.class, field.getDeclaringClass());
+        Assert.assertSame(
+            ShadowBase.class,
+            ReflectUtil
+                .getField(new ShadowChild(), "field2")
+                .getDeclaringClass());
+        Assert.assertNull(ReflectUtil.getField(new ShadowChild(), "field3"));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#findField(Object, String)}.
+     */
+    @Test(expected = NoSuchFieldException.class)
+    public void testFindField() throws NoSuchFieldException {
+        Assert.assertSame(
+            ShadowChild.class,
+            ReflectUtil
+                .findField(new ShadowChild(), "field1")
+                .getDeclaringClass());
+        try {
+            ReflectUtil.findField(new ShadowChild(), "field3");
+        } catch (final NoSuchFieldException e) {
+            Assert.assertEquals(0, e.getStackTrace().length);
+            throw e;
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#lookupField(Class, String)}.
+     */
+    @Test
+    public void testLookupField() {
+        Assert.assertSame(
+            ShadowBase.class,
+            ReflectUtil
+                .lookupField(ShadowChild.class, "field2")
+                .get()
+                .getDeclaringClass());
+        Assert.assertFalse(
+            ReflectUtil.lookupField(ShadowChild.class, "field3").isPresent());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#lookupMethodInvoker(Class, String,
+     * Class...)}.
+     */
+    @Test
+    public void testLookupMethodInvoker() {
+        Assert.assertTrue(
+            ReflectUtil
+                .lookupMethodInvoker(Overloads.class, "pick", Integer.TYPE)
+                .isPresent());
+        Assert.assertFalse(
+            ReflectUtil.lookupMethodInvoker(Overloads.class, "missing")
+                .isPresent());
+        Assert.assertFalse(
+            ReflectUtil
+                .lookupMethodInvoker(Overloads.class, "pair", null, null)
+                .isPresent());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#getFieldList(Class)}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetFieldList() {
+        Assert.assertEquals(
+            3,
+            ReflectUtil.getFieldList(ShadowChild.class).size());
+        Assert.assertSame(
+            ReflectUtil.getFieldList(ShadowChild.class),
+            ReflectUtil.getFieldList(ShadowChild.class));
+        ReflectUtil.getFieldList(ShadowChild.class).clear();
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#invokeMethod(Object, String,
+     * Class[], Object[])}.
+     */
+    @Test
+    public void testInvokeMethod() throws ReflectiveOperationException {
+        final Overloads target = new Overloads();
+        Assert.assertEquals(
+            "int",
+            ReflectUtil.invokeMethod(
+                target,
+                "pick",
+                new Class<?>[] { Integer.TYPE },
+                new Object[] { 1 }));
+        Assert.assertEquals(
+            "int",
+            ReflectUtil.invokeMethod(
+                target,
+                "pick",
+                new Class<?>[] { Short.TYPE },
+                new Object[] { (short) 1 }));
+        Assert.assertEquals(
+            "Object",
+            ReflectUtil.invokeMethod(
+                target,
+                "pick",
+                new Class<?>[] { Long.class },
+                new Object[] { 1L }));
+        Assert.assertEquals(
+            "Object",
+            ReflectUtil.invokeMethod(
+                target,
+                "pick",
+                new Class<?>[] { String.class },
+                new Object[] { "a" }));
+        Assert.assertEquals(
+            2L,
+            ReflectUtil.invokeMethod(
+                target,
+                "unbox",
+                new Class<?>[] { Integer.class },
+                new Object[] { 1 }));
+        Assert.assertEquals(
+            "secret",
+            ReflectUtil.invokeMethod(target, "hidden", null, null));
+        Assert.assertNull(
+            ReflectUtil.invokeMethod(
+                target,
+                "pick",
+                new Class<?>[] { Integer.TYPE },
+                new Object[] { "a" }));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#invokeMethod(Object, String,
+     * Class[], Object[])}.
+     */
+    @Test(expected = InvocationTargetException.class)
+    public void testInvokeMethodThrows() throws ReflectiveOperationException {
+        ReflectUtil.invokeMethod(new Overloads(), "fail", null, null);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#getMethodInvoker(Class, String,
+     * Class...)}.
+     */
+    @Test
+    public void testGetMethodInvoker() throws NoSuchMethodException {
+        Assert.assertSame(
+            ReflectUtil.getMethodInvoker(Overloads.class, "pick", Long.TYPE),
+            ReflectUtil.getMethodInvoker(Overloads.class, "pick", Long.TYPE));
+        Assert.assertSame(
+            ShadowBase.class,
+            ReflectUtil
+                .getMethodInvoker(Overloads.class, "toString")
+                .getMethod()
+                .getDeclaringClass()
+                .getSuperclass());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                ReflectUtil.getMethodInvoker(Overloads.class, "missing");
+                Assert.fail();
+            } catch (final NoSuchMethodException e) {
+                Assert.assertTrue(e.getMessage().endsWith("missing()"));
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#staticInvokeMethod(Class, String,
+     * Class[], Object[])}.
+     */
+    @Test
+    public void testStaticInvokeMethod() throws ReflectiveOperationException {
+        Assert.assertEquals(
+            Integer.valueOf(5),
+            ReflectUtil.staticInvokeMethod(
+                Overloads.class,
+                "add",
+                new Class<?>[] { Integer.TYPE, Integer.TYPE },
+                new Object[] { 2, 3 }));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#getStaticInvoker(Class, String,
+     * Class, Class...)}.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetStaticInvoker() throws NoSuchMethodException {
+        final IntBinaryOperator add = ReflectUtil.getStaticInvoker(
+            Overloads.class,
+            "add",
+            IntBinaryOperator.class,
+            Integer.TYPE,
+            Integer.TYPE);
+        Assert.assertEquals(5, add.applyAsInt(2, 3));
+        Assert.assertSame(
+            add,
+            ReflectUtil.getStaticInvoker(
+                Overloads.class,
+                "add",
+                IntBinaryOperator.class,
+                Integer.TYPE,
+                Integer.TYPE));
+
+        final Function<String, Overloads> create = ReflectUtil
+            .getStaticInvoker(Overloads.class, "create", Function.class,
+                String.class);
+        Assert.assertEquals("a", create.apply("a").field1);
+
+        final Supplier<Object> secret = ReflectUtil
+            .getStaticInvoker(Overloads.class, "secret", Supplier.class);
+        Assert.assertEquals("secret", secret.get());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#getStaticInvoker(Class, String,
+     * Class, Class...)}.
+     */
+    @Test(expected = NoSuchMethodException.class)
+    public void testGetStaticInvokerInstance() throws NoSuchMethodException {
+        ReflectUtil.getStaticInvoker(
+            Overloads.class,
+            "unbox",
+            Function.class,
+            Long.TYPE);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.lang.ReflectUtil#getMethodInvoker(Class, String,
+     * Class...)}.
+     */
+    @Test(expected = NoSuchMethodException.class)
+    public void testGetMethodInvokerAmbiguous() throws NoSuchMethodException {
+        ReflectUtil.getMethodInvoker(Overloads.class, "pair", null, null);
+    }
+
 }
 
 class Dummy {
     String field1;
 }
+
+class ShadowBase {
+    String field1;
+    String field2;
+}
+
+class ShadowChild extends ShadowBase {
+    String field1;
+
+    @Override
+    public String toString() {
+        return field1;
+    }
+}
+
+class Overloads extends ShadowChild {
+
+    String pick(final int value) {
+        return "int";
+    }
+
+    String pick(final long value) {
+        return "long";
+    }
+
+    String pick(final Object value) {
+        return "Object";
+    }
+
+    long unbox(final long value) {
+        return value + 1;
+    }
+
+    String pair(final String left, final Object right) {
+        return "String";
+    }
+
+    String pair(final Object left, final String right) {
+        return "Object";
+    }
+
+    static int add(final int left, final int right) {
+        return left + right;
+    }
+
+    static Overloads create(final String name) {
+        final Overloads retval = new Overloads();
+        retval.field1 = name;
+        return retval;
+    }
+
+    private static String secret() {
+        return "secret";
+    }
+
+    private String hidden() {
+        return "secret";
+    }
+
+    void fail() {
+        throw new IllegalStateException();
+    }
+}
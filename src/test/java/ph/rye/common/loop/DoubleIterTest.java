@@ -0,0 +1,37 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class DoubleIterTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.DoubleIter#each(java.util.function.DoubleConsumer)}.
+     */
+    @Test
+    public void testEach() {
+        final double[] total = new double[1];
+        DoubleIter.of(0.5, 1.5, 2).each(e -> total[0] += e);
+        Assert.assertEquals(4.0, total[0], 0);
+    }
+
+}
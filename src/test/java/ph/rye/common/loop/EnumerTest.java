@@ -0,0 +1,70 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class EnumerTest {
+
+    /**
+     * Test method for {@link ph.rye.common.loop.Enumer#stream()}.
+     */
+    @Test
+    public void testStreamLazy() {
+        final Enumeration<Integer> endless = new Enumeration<>() {
+
+            private int next;
+
+            @Override
+            public boolean hasMoreElements() {
+                return true;
+            }
+
+            @Override
+            public Integer nextElement() {
+                return next++;
+            }
+        };
+
+        Assert.assertEquals(
+            Arrays.asList(0, 1, 2),
+            new Enumer<>(endless)
+                .stream()
+                .limit(3)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.Enumer#stream()}.
+     */
+    @Test
+    public void testStream() {
+        final Enumer<String> sut = new Enumer<>(
+            Collections.enumeration(Arrays.asList("a", "b")));
+        Assert.assertEquals("ab", sut.stream().collect(Collectors.joining()));
+        Assert.assertEquals(0, sut.stream().count());
+    }
+
+}
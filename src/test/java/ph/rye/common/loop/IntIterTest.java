@@ -0,0 +1,67 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class IntIterTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntIter#each(java.util.function.IntConsumer)}.
+     */
+    @Test
+    public void testEach() {
+        final int[] array = { 1, 2, 3 };
+        final IntIter sut = IntIter.of(array);
+        array[2] = 4;
+
+        final List<Integer> actual = new ArrayList<>();
+        sut.each(actual::add);
+        Assert.assertEquals(Arrays.asList(1, 2, 4), actual);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntIter#eachIndexed(ph.rye.util.function.IntIntConsumer)}.
+     */
+    @Test
+    public void testEachIndexedSlice() {
+        final IntIter sut = IntIter.of(new int[] { 5, 6, 7, 8, 9 }, 1, 5);
+        Assert.assertEquals(4, sut.size());
+
+        final List<String> actual = new ArrayList<>();
+        sut.slice(1, 3).eachIndexed((i, e) -> actual.add(i + "=" + e));
+        Assert.assertEquals(Arrays.asList("0=7", "1=8"), actual);
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.IntIter#slice(int, int)}.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSliceOutOfBounds() {
+        IntIter.of(1, 2, 3).slice(1, 4);
+    }
+
+}
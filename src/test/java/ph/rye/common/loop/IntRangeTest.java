@@ -0,0 +1,197 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class IntRangeTest {
+
+    private static List<Integer> values(final IntRange range) {
+        final List<Integer> retval = new ArrayList<>();
+        range.each(retval::add);
+        return retval;
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntRange#each(java.util.function.IntConsumer)}.
+     */
+    @Test
+    public void testEach() {
+        Assert.assertEquals(Arrays.asList(1, 2, 3), values(IntRange.of(1, 3)));
+        Assert.assertEquals(Arrays.asList(5), values(IntRange.of(5, 5)));
+        Assert.assertTrue(values(IntRange.of(3, 1)).isEmpty());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntRange#each(java.util.function.IntConsumer)}.
+     */
+    @Test
+    public void testEachStep() {
+        final IntRange sut = IntRange.of(0, 10, 4);
+        Assert.assertEquals(Arrays.asList(0, 4, 8), values(sut));
+        Assert.assertEquals(3, sut.size());
+        Assert.assertEquals(8, sut.getLast());
+
+        Assert.assertEquals(
+            Arrays.asList(10, 7, 4, 1),
+            values(IntRange.of(10, 0, -3)));
+        Assert.assertTrue(IntRange.of(0, 10, -1).isEmpty());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntRange#each(java.util.function.IntConsumer)}.
+     */
+    @Test
+    public void testEachOverflow() {
+        Assert.assertEquals(
+            Arrays.asList(Integer.MAX_VALUE - 1, Integer.MAX_VALUE),
+            values(IntRange.of(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)));
+        Assert.assertEquals(
+            Arrays.asList(Integer.MIN_VALUE + 2, Integer.MIN_VALUE),
+            values(IntRange.of(Integer.MIN_VALUE + 2, Integer.MIN_VALUE, -2)));
+        Assert.assertEquals(
+            1L << 32,
+            IntRange.of(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.IntRange#reversed()}.
+     */
+    @Test
+    public void testReversed() {
+        Assert.assertEquals(
+            Arrays.asList(8, 4, 0),
+            values(IntRange.of(0, 10, 4).reversed()));
+        Assert.assertTrue(IntRange.of(1, 0).reversed().isEmpty());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntRange#parallelEach(ForkJoinPool, int, java.util.function.IntConsumer)}.
+     */
+    @Test
+    public void testParallelEach() {
+        final AtomicIntegerArray hits = new AtomicIntegerArray(1000);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            IntRange
+                .of(999, 0, -1)
+                .parallelEach(pool, 16, hits::incrementAndGet);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < hits.length(); i++) {
+            Assert.assertEquals(1, hits.get(i));
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntRange#parallelReduce(java.util.function.Supplier, java.util.function.ObjIntConsumer, java.util.function.BinaryOperator)}.
+     */
+    @Test
+    public void testParallelReduce() {
+        final List<Integer> actual = IntRange.of(0, 9999, 3).parallelReduce(
+            ArrayList::new,
+            List::add,
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        Assert.assertEquals(values(IntRange.of(0, 9999, 3)), actual);
+
+        Assert.assertTrue(
+            IntRange.of(1, 0)
+                .parallelReduce(ArrayList::new, List::add, (l, r) -> l)
+                .isEmpty());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IntRange#parallelEach(ForkJoinPool, int, java.util.function.IntConsumer)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelEachInvalidGrain() {
+        IntRange.of(0, 1).parallelEach(ForkJoinPool.commonPool(), 0, i -> {});
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.IntRange#spliterator()}.
+     */
+    @Test
+    public void testSpliterator() {
+        final Spliterator.OfInt sut = IntRange.of(0, 99, 2).spliterator();
+        Assert.assertTrue(
+            sut.hasCharacteristics(
+                Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED
+                        | Spliterator.IMMUTABLE));
+        Assert.assertEquals(50, sut.estimateSize());
+
+        final Spliterator.OfInt prefix = sut.trySplit();
+        Assert.assertEquals(25, prefix.estimateSize());
+        Assert.assertEquals(25, sut.estimateSize());
+        final int[] firsts = new int[2];
+        Assert.assertTrue(prefix.tryAdvance((int i) -> firsts[0] = i));
+        Assert.assertTrue(sut.tryAdvance((int i) -> firsts[1] = i));
+        Assert.assertArrayEquals(new int[] { 0, 50 }, firsts);
+
+        Assert.assertFalse(
+            IntRange.of(9, 0, -1).spliterator()
+                .hasCharacteristics(Spliterator.SORTED));
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.IntRange#parallelStream()}.
+     */
+    @Test
+    public void testStream() {
+        Assert.assertEquals(
+            5050,
+            IntRange.of(1, 100).parallelStream().sum());
+        Assert.assertArrayEquals(
+            new int[] { 9, 6, 3, 0 },
+            IntRange.of(0, 9, 3).reversed().stream().toArray());
+        Assert.assertEquals(
+            Integer.MAX_VALUE,
+            IntRange.of(Integer.MAX_VALUE - 5, Integer.MAX_VALUE)
+                .stream()
+                .max()
+                .getAsInt());
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.IntRange#of(int, int, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfZeroStep() {
+        IntRange.of(0, 1, 0);
+    }
+
+}
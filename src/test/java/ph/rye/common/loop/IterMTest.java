@@ -0,0 +1,123 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class IterMTest {
+
+    /**
+     * Test method for {@link ph.rye.common.loop.IterM#stream()}.
+     */
+    @Test
+    public void testStream() {
+        final Map<String, Integer> map = new TreeMap<>();
+        map.put("b", 2);
+        map.put("a", 1);
+
+        Assert.assertEquals(
+            "a=1,b=2",
+            IterM.of(map)
+                .stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(",")));
+        Assert.assertEquals(2, IterM.of(map).spliterator().estimateSize());
+    }
+
+    private static Map<Integer, Integer> squares(
+            final Map<Integer, Integer> map) {
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i * i);
+        }
+        return map;
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IterM#each(java.util.function.BiConsumer)}.
+     */
+    @Test
+    public void testEach() {
+        final List<String> actual = new ArrayList<>();
+        final Map<String, Integer> map = new TreeMap<>();
+        map.put("b", 2);
+        map.put("a", 1);
+        IterM.of(map).each((key, value) -> actual.add(key + value));
+        Assert.assertEquals(Arrays.asList("a1", "b2"), actual);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IterM#eachWhere(java.util.function.BiPredicate, java.util.function.BiConsumer)}.
+     */
+    @Test
+    public void testEachWhere() {
+        final List<Integer> actual = new ArrayList<>();
+        IterM.of(squares(new TreeMap<>()))
+            .eachWhere((key, value) -> key % 100 == 0, (k, v) -> actual.add(v));
+        Assert.assertEquals(10, actual.size());
+        Assert.assertEquals(Integer.valueOf(810_000), actual.get(9));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IterM#eachBatch(int, java.util.function.Consumer)}.
+     */
+    @Test
+    public void testEachBatch() {
+        final List<Integer> sizes = new ArrayList<>();
+        IterM.of(squares(new HashMap<>()))
+            .eachBatch(300, batch -> sizes.add(batch.size()));
+        Assert.assertEquals(Arrays.asList(300, 300, 300, 100), sizes);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.IterM#parallelEach(long, java.util.function.BiConsumer)}.
+     */
+    @Test
+    public void testParallelEach() {
+        final long expected = 332_833_500L;
+        final List<Map<Integer, Integer>> maps = Arrays.asList(
+            squares(new ConcurrentHashMap<>()),
+            squares(new HashMap<>()),
+            squares(new TreeMap<>()));
+        for (final Map<Integer, Integer> map : maps) {
+            final LongAdder total = new LongAdder();
+            IterM.of(map).parallelEach(16, (key, value) -> total.add(value));
+            Assert.assertEquals(expected, total.sum());
+
+            total.reset();
+            IterM.of(map).parallelEach((key, value) -> total.add(value));
+            Assert.assertEquals(expected, total.sum());
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class IterTest {
+
+    private static final List<String> LETTERS = IntStream.range(0, 5000)
+        .mapToObj(Integer::toString)
+        .collect(Collectors.toList());
+
+    private static ConcurrentHashMap<Integer, String> parallelEach(
+            final Iter<String> sut) {
+        final ConcurrentHashMap<Integer, String> retval =
+                new ConcurrentHashMap<>();
+        sut.parallelEach(
+            ForkJoinPool.commonPool(),
+            8,
+            (index, next) -> Assert.assertNull(retval.put(index, next)));
+        return retval;
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.Iter#eachIndexed(ph.rye.util.function.IntObjConsumer)}.
+     */
+    @Test
+    public void testEachIndexed() {
+        final Iter<Object> array = Iter.of(new Object[] { "a", "b" });
+        final Iter<Object> list = Iter.of(Arrays.asList("a", "b"));
+        final Iter<Object> ints = Iter.of(new int[] { 7, 8 });
+
+        for (final Iter<Object> sut : Arrays.asList(array, list, ints)) {
+            for (int run = 0; run < 2; run++) {
+                final List<String> actual = new ArrayList<>();
+                sut.eachIndexed(
+                    (index, next) -> actual.add(index + ":" + next));
+                Assert.assertEquals(2, actual.size());
+                Assert.assertTrue(actual.get(1).startsWith("1:"));
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.Iter#eachWithIndex(java.util.function.BiConsumer)}.
+     */
+    @Test
+    public void testEachWithIndex() {
+        final List<String> actual = new ArrayList<>();
+        Iter.of(new String[] { "x", "y" })
+            .eachWithIndex((index, next) -> actual.add(index + next));
+        Assert.assertEquals(Arrays.asList("0x", "1y"), actual);
+
+        final List<Object> elements = new ArrayList<>();
+        Iter.of(new String[0]).each(next -> elements.add(next));
+        Iter.of(new int[] { 3 }).each(next -> elements.add(next));
+        Assert.assertEquals(Arrays.asList(3), elements);
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.Iter#eachIndexed(ph.rye.util.function.IntObjConsumer)}.
+     */
+    @Test
+    public void testEachIndexedShared() throws Exception {
+        final Iter<String> sut = Iter.of(LETTERS);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    final boolean[] inOrder = { true };
+                    sut.eachIndexed(
+                        (index, next) -> inOrder[0] &= LETTERS
+                            .get(index)
+                            .equals(next));
+                    return inOrder[0];
+                }));
+            }
+            for (final Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.Iter#parallelEach(ForkJoinPool, int, ph.rye.util.function.IntObjConsumer)}.
+     */
+    @Test
+    public void testParallelEach() {
+        final Iter<String> array = Iter.of(LETTERS.toArray(new String[0]));
+        final Iter<String> list = Iter.of(LETTERS);
+        final Iter<String> unsized = Iter.of(new LinkedHashSet<>(LETTERS));
+
+        for (final Iter<String> sut : Arrays.asList(array, list, unsized)) {
+            final ConcurrentHashMap<Integer, String> actual = parallelEach(sut);
+            Assert.assertEquals(LETTERS.size(), actual.size());
+            for (int i = 0; i < LETTERS.size(); i++) {
+                Assert.assertEquals(LETTERS.get(i), actual.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.Iter#parallelStream()}.
+     */
+    @Test
+    public void testStream() {
+        Assert.assertEquals(
+            LETTERS,
+            Iter.of(LETTERS.toArray(new String[0]))
+                .parallelStream()
+                .collect(Collectors.toList()));
+        Assert.assertEquals(
+            LETTERS.size(),
+            Iter.of(LETTERS).spliterator().getExactSizeIfKnown());
+        Assert.assertEquals(
+            6,
+            Iter.<Integer>of(new int[] { 1, 2, 3 })
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.Iter#parallelReduce(java.util.function.Supplier, java.util.function.BiConsumer, java.util.function.BinaryOperator)}.
+     */
+    @Test
+    public void testParallelReduce() {
+        final List<String> actual = Iter.of(new LinkedHashSet<>(LETTERS))
+            .parallelReduce(ArrayList::new, List::add, (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        Assert.assertEquals(LETTERS, actual);
+
+        final int[] total = Iter.<Integer>of(new int[] { 1, 2, 3 })
+            .parallelReduce(() -> new int[1], (sum, next) -> sum[0] += next,
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                });
+        Assert.assertEquals(6, total[0]);
+    }
+
+}
@@ -0,0 +1,42 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class LongIterTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.LongIter#eachIndexed(ph.rye.util.function.IntLongConsumer)}.
+     */
+    @Test
+    public void testEachIndexed() {
+        final List<String> actual = new ArrayList<>();
+        LongIter.of(new long[] { 1, 2, 3 }, 1, 3)
+            .eachIndexed((i, e) -> actual.add(i + "=" + e));
+        Assert.assertEquals(Arrays.asList("0=2", "1=3"), actual);
+    }
+
+}
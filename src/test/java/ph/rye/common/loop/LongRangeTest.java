@@ -0,0 +1,86 @@
+/**
+ *   Copyright 2016 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.common.loop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class LongRangeTest {
+
+    private static List<Long> values(final LongRange range) {
+        final List<Long> retval = new ArrayList<>();
+        range.each(retval::add);
+        return retval;
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.LongRange#each(java.util.function.LongConsumer)}.
+     */
+    @Test
+    public void testEach() {
+        Assert.assertEquals(
+            Arrays.asList(0L, 5L, 10L),
+            values(LongRange.of(0, 12, 5)));
+        Assert.assertEquals(
+            Arrays.asList(10L, 5L, 0L),
+            values(LongRange.of(0, 12, 5).reversed()));
+        Assert.assertTrue(values(LongRange.of(1, 0)).isEmpty());
+        Assert.assertEquals(
+            Arrays.asList(Long.MAX_VALUE),
+            values(LongRange.of(Long.MAX_VALUE, Long.MAX_VALUE)));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.common.loop.LongRange#parallelReduce(java.util.function.Supplier, java.util.function.ObjLongConsumer, java.util.function.BinaryOperator)}.
+     */
+    @Test
+    public void testParallelReduce() {
+        final long[] actual = LongRange.of(1, 100_000).parallelReduce(
+            () -> new long[1],
+            (total, value) -> total[0] += value,
+            (left, right) -> {
+                left[0] += right[0];
+                return left;
+            });
+        Assert.assertEquals(5_000_050_000L, actual[0]);
+    }
+
+    /**
+     * Test method for {@link ph.rye.common.loop.LongRange#size()}.
+     */
+    @Test
+    public void testSize() {
+        Assert.assertEquals(3, LongRange.of(0, 12, 5).size());
+        Assert.assertEquals(0, LongRange.of(1, 0).size());
+
+        final LongRange wide = LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE, 4);
+        Assert.assertEquals(1L << 62, wide.size());
+        Assert.assertEquals(Long.MAX_VALUE - 3, wide.getLast());
+        Assert.assertEquals(
+            Long.MAX_VALUE,
+            LongRange.of(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+
+}
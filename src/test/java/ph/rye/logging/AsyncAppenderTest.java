@@ -0,0 +1,201 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class AsyncAppenderTest {
+
+    /**
+     * Test method for {@link ph.rye.logging.AsyncAppender#append(LogEvent)}.
+     */
+    @Test
+    public void testAppend() throws InterruptedException {
+        final CollectingAppender target = new CollectingAppender();
+        final AsyncAppender sut =
+                new AsyncAppender(target, 8, AsyncAppender.Overflow.BLOCK);
+
+        final int threads = 4;
+        final int perThread = 500;
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                final LogEvent event = new LogEvent();
+                for (int i = 0; i < perThread; i++) {
+                    sut.append(event.set(0, 3, "A", "b", i, "t", "m", null));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        sut.close();
+
+        Assert.assertEquals(threads * perThread, target.messages.size());
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.AsyncAppender#append(LogEvent)}.
+     */
+    @Test
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testAppend_dropAndCount() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CollectingAppender target = new CollectingAppender() {
+            @Override
+            public void append(final LogEvent event) {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.append(event);
+            }
+        };
+        final AsyncAppender sut = new AsyncAppender(
+            target,
+            4,
+            AsyncAppender.Overflow.DROP_AND_COUNT);
+
+        final LogEvent event = new LogEvent();
+        for (int i = 0; i < 100; i++) {
+            sut.append(event.set(0, 3, null, null, 0, null, "m" + i, null));
+        }
+        release.countDown();
+        sut.close();
+
+        Assert.assertTrue(target.messages.size() < 100);
+        Assert.assertTrue(
+            target.messages
+                .get(target.messages.size() - 1)
+                .endsWith("log events dropped, ring buffer full."));
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.AsyncAppender#close()}.
+     */
+    @Test
+    public void testCloseWhileAppending() throws InterruptedException {
+        final CollectingAppender target = new CollectingAppender();
+        final AsyncAppender sut =
+                new AsyncAppender(target, 4, AsyncAppender.Overflow.BLOCK);
+
+        final AtomicInteger appended = new AtomicInteger();
+        final Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                final LogEvent event = new LogEvent();
+                for (int i = 0; i < 2000; i++) {
+                    sut.append(event.set(0, 3, null, null, i, null, "m", null));
+                    appended.incrementAndGet();
+                }
+            });
+            producers[t].start();
+        }
+        while (appended.get() < 1000) {
+            Thread.yield();
+        }
+        sut.close();
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        Assert.assertEquals(appended.get(), target.messages.size());
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.AsyncAppender#close()}.
+     */
+    @Test
+    public void testCloseTwice() throws InterruptedException {
+        final CollectingAppender target = new CollectingAppender() {
+            @Override
+            public void append(final LogEvent event) {
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.append(event);
+            }
+        };
+        final AsyncAppender sut =
+                new AsyncAppender(target, 64, AsyncAppender.Overflow.BLOCK);
+
+        final LogEvent event = new LogEvent();
+        for (int i = 0; i < 50; i++) {
+            sut.append(event.set(0, 3, null, null, 0, null, "m" + i, null));
+        }
+        final Thread first = new Thread(sut::close);
+        first.start();
+        sut.close();
+        Assert.assertEquals(50, target.messages.size());
+        first.join();
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.AsyncAppender#append(LogEvent)}.
+     */
+    @Test(timeout = 10_000)
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testAppend_failingDelegate() {
+        final CollectingAppender target = new CollectingAppender() {
+            @Override
+            public void flush() {
+                throw new IllegalStateException("disk full");
+            }
+        };
+        final AsyncAppender sut =
+                new AsyncAppender(target, 2, AsyncAppender.Overflow.BLOCK);
+
+        final LogEvent event = new LogEvent();
+        for (int i = 0; i < 100; i++) {
+            sut.append(event.set(0, 3, null, null, 0, null, "m" + i, null));
+        }
+        sut.close();
+
+        Assert.assertEquals(100, target.messages.size());
+    }
+
+    static class CollectingAppender implements Appender {
+
+        final List<String> messages = new ArrayList<>();
+
+        @Override
+        public void append(final LogEvent event) {
+            messages.add(event.message);
+        }
+
+        @Override
+        public void flush() {
+            //NO-OP
+        }
+
+        @Override
+        public void close() {
+            //NO-OP
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class CategoryTrieTest {
+
+    /**
+     * Test method for {@link ph.rye.logging.CategoryTrie#resolve(String)}.
+     */
+    @Test
+    public void testResolve() {
+        final CategoryTrie<Integer> sut = new CategoryTrie<>();
+        sut.put("ph.rye", OneLogger.Level.WARN);
+        sut.put("ph.rye.logging", OneLogger.Level.DEBUG);
+        sut.put("ph.rye.logging.OneLogger", OneLogger.Level.ERROR);
+
+        Assert.assertEquals(
+            Integer.valueOf(OneLogger.Level.WARN),
+            sut.resolve("ph.rye.common.Foo"));
+        Assert.assertEquals(
+            Integer.valueOf(OneLogger.Level.DEBUG),
+            sut.resolve("ph.rye.logging.Appender"));
+        Assert.assertEquals(
+            Integer.valueOf(OneLogger.Level.ERROR),
+            sut.resolve("ph.rye.logging.OneLogger$Level"));
+
+        Assert.assertNull(sut.resolve("ph.ryes.Foo"));
+        Assert.assertNull(sut.resolve("com.acme.Foo"));
+    }
+
+}
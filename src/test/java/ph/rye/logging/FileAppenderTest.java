@@ -0,0 +1,204 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author royce
+ */
+public class FileAppenderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test method for {@link ph.rye.logging.FileAppender#append(LogEvent)}.
+     */
+    @Test
+    public void testAppend() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("app.log");
+        final FileAppender sut = new FileAppender(
+            new OneLogger(null),
+            path,
+            100,
+            FileAppender.NO_ROLL,
+            FileAppender.FSYNC_ON_ROLL,
+            16);
+
+        final LogEvent event = new LogEvent();
+        for (int i = 0; i < 10; i++) {
+            sut.append(
+                event.set(
+                    0,
+                    OneLogger.Level.INFO,
+                    null,
+                    null,
+                    0,
+                    null,
+                    "line" + i,
+                    null));
+        }
+        sut.close();
+
+        final File[] files = folder.getRoot().listFiles();
+        Assert.assertTrue(files.length > 1);
+
+        final List<String> current =
+                Files.readAllLines(path, StandardCharsets.UTF_8);
+        Assert.assertTrue(current.get(current.size() - 1).endsWith("line9"));
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.FileAppender#flush()}.
+     */
+    @Test
+    public void testFlush() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("app.log");
+        final FileAppender sut = new FileAppender(
+            new OneLogger(null),
+            path,
+            Long.MAX_VALUE,
+            FileAppender.NO_ROLL,
+            FileAppender.FSYNC_NONE,
+            1024);
+
+        final LogEvent event = new LogEvent();
+        for (int i = 0; i < 3; i++) {
+            sut.append(
+                event.set(
+                    0,
+                    OneLogger.Level.INFO,
+                    null,
+                    null,
+                    0,
+                    null,
+                    "line" + i,
+                    null));
+        }
+        Assert.assertEquals(0, Files.size(path));
+
+        sut.flush();
+        Assert.assertEquals(
+            3,
+            Files.readAllLines(path, StandardCharsets.UTF_8).size());
+        sut.close();
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.FileAppender#append(LogEvent)}.
+     * The rolled name is too long for the file system, the file is written on.
+     */
+    @Test
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testAppend_failedRoll() throws IOException {
+        final StringBuilder name = new StringBuilder();
+        while (name.length() < 250) {
+            name.append('a');
+        }
+        name.append(".log");
+        final Path path = folder.getRoot().toPath().resolve(name.toString());
+        final FileAppender sut = new FileAppender(
+            new OneLogger(null),
+            path,
+            100,
+            FileAppender.NO_ROLL,
+            FileAppender.FSYNC_NONE,
+            16);
+
+        final LogEvent event = new LogEvent();
+        for (int i = 0; i < 10; i++) {
+            sut.append(
+                event.set(
+                    0,
+                    OneLogger.Level.INFO,
+                    null,
+                    null,
+                    0,
+                    null,
+                    "line" + i,
+                    null));
+        }
+        sut.close();
+
+        Assert.assertEquals(1, folder.getRoot().listFiles().length);
+        Assert.assertEquals(
+            10,
+            Files.readAllLines(path, StandardCharsets.UTF_8).size());
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.FileAppender#append(LogEvent)}.
+     * Interval fsync writes out a quiet file without a flush.
+     */
+    @Test(timeout = 10_000)
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testAppend_intervalFsync()
+            throws IOException, InterruptedException {
+        final Path path = folder.getRoot().toPath().resolve("app.log");
+        final FileAppender sut = new FileAppender(
+            new OneLogger(null),
+            path,
+            Long.MAX_VALUE,
+            FileAppender.NO_ROLL,
+            20,
+            1024);
+
+        sut.append(
+            new LogEvent().set(
+                System.currentTimeMillis(),
+                OneLogger.Level.INFO,
+                null,
+                null,
+                0,
+                null,
+                "quiet",
+                null));
+        while (Files.size(path) == 0) {
+            Thread.sleep(10);
+        }
+        sut.close();
+
+        Assert.assertTrue(
+            Files
+                .readAllLines(path, StandardCharsets.UTF_8)
+                .get(0)
+                .endsWith("quiet"));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.FileAppender#parseSize(String, long)}.
+     */
+    @Test
+    public void testParseSize() {
+        Assert.assertEquals(7, FileAppender.parseSize("", 7));
+        Assert.assertEquals(512, FileAppender.parseSize("512", 7));
+        Assert.assertEquals(2048, FileAppender.parseSize("2k", 7));
+        Assert.assertEquals(1L << 30, FileAppender.parseSize("1G", 7));
+    }
+
+}
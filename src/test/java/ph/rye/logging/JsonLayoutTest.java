@@ -0,0 +1,153 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class JsonLayoutTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.JsonLayout#format(LogEvent, StringBuilder)}.
+     */
+    @Test
+    public void testFormat() {
+        final OneLogger logger = new OneLogger(null);
+        logger.setTimestampFormat("epoch");
+        final JsonLayout sut = new JsonLayout(logger);
+
+        final StringBuilder out = new StringBuilder();
+        sut.format(
+            new LogEvent().set(
+                12,
+                OneLogger.Level.WARN,
+                "ph.rye.Foo",
+                "bar",
+                7,
+                "main",
+                "say \"hi\"\n\tback\\slash\u0001",
+                null),
+            out);
+
+        Assert.assertEquals(
+            "{\"timestamp\":12,\"level\":\"WARN\",\"class\":\"ph.rye.Foo\","
+                    + "\"method\":\"bar\",\"line\":7,\"thread\":\"main\","
+                    + "\"message\":\"say \\\"hi\\\"\\n\\tback\\\\slash"
+                    + "\\u0001\"}\n",
+            out.toString());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.JsonLayout#format(LogEvent, StringBuilder)}.
+     */
+    @Test
+    public void testFormat_thrown() {
+        final OneLogger logger = new OneLogger(null);
+        logger.setTimestampFormat("epoch");
+        final JsonLayout sut = new JsonLayout(logger);
+
+        final Exception cause = new IllegalStateException("inner");
+        cause.setStackTrace(new StackTraceElement[0]);
+        final Exception thrown = new IllegalArgumentException("outer", cause);
+        thrown.setStackTrace(
+            new StackTraceElement[] {
+                    new StackTraceElement(
+                        "ph.rye.Foo",
+                        "bar",
+                        "Foo.java",
+                        7) });
+
+        final StringBuilder out = new StringBuilder();
+        sut.format(
+            new LogEvent().set(
+                0,
+                OneLogger.Level.ERROR,
+                null,
+                null,
+                0,
+                null,
+                "m",
+                thrown),
+            out);
+
+        Assert.assertEquals(
+            "{\"timestamp\":0,\"level\":\"ERROR\",\"message\":\"m\","
+                    + "\"thrown\":{"
+                    + "\"class\":\"java.lang.IllegalArgumentException\","
+                    + "\"message\":\"outer\","
+                    + "\"frames\":[\"ph.rye.Foo.bar(Foo.java:7)\"],"
+                    + "\"cause\":{"
+                    + "\"class\":\"java.lang.IllegalStateException\","
+                    + "\"message\":\"inner\",\"frames\":[]}}}\n",
+            out.toString());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.JsonLayout#format(LogEvent, StringBuilder)}.
+     */
+    @Test
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testFormat_thrownDepthAndSuppressed() {
+        final OneLogger logger = new OneLogger(null);
+        logger.setTimestampFormat("epoch");
+        logger.setThrowableDepth(1);
+        final JsonLayout sut = new JsonLayout(logger);
+
+        final StackTraceElement main =
+                new StackTraceElement("ph.rye.App", "main", "App.java", 3);
+        final Exception thrown = new IllegalArgumentException("outer");
+        thrown.setStackTrace(
+            new StackTraceElement[] {
+                    new StackTraceElement("ph.rye.Foo", "bar", "Foo.java", 7),
+                    main });
+        final Exception suppressed = new IllegalStateException("closing");
+        suppressed.setStackTrace(new StackTraceElement[] { main });
+        thrown.addSuppressed(suppressed);
+
+        final StringBuilder out = new StringBuilder();
+        sut.format(
+            new LogEvent().set(
+                0,
+                OneLogger.Level.ERROR,
+                null,
+                null,
+                0,
+                null,
+                "m",
+                thrown),
+            out);
+
+        Assert.assertEquals(
+            "{\"timestamp\":0,\"level\":\"ERROR\",\"message\":\"m\","
+                    + "\"thrown\":{"
+                    + "\"class\":\"java.lang.IllegalArgumentException\","
+                    + "\"message\":\"outer\","
+                    + "\"frames\":[\"ph.rye.Foo.bar(Foo.java:7)\"],"
+                    + "\"more\":1,"
+                    + "\"suppressed\":[{"
+                    + "\"class\":\"java.lang.IllegalStateException\","
+                    + "\"message\":\"closing\",\"frames\":[],"
+                    + "\"more\":1}]}}\n",
+            out.toString());
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class LoggerConfigTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.LoggerConfig#isPrinted(String, int)}.
+     */
+    @Test
+    public void testIsPrinted() {
+        final LoggerConfig.Builder builder = new LoggerConfig.Builder();
+        builder.defaultLevel = OneLogger.Level.WARN;
+        builder.classLevel.put("ph.rye.logging", OneLogger.Level.DEBUG);
+        builder.classLevel.put("ph.rye.logging.Foo", OneLogger.Level.OFF);
+        final LoggerConfig sut = builder.build();
+
+        Assert.assertTrue(sut.isEnabled(OneLogger.Level.DEBUG));
+        Assert.assertTrue(
+            sut.isPrinted("ph.rye.logging.Bar", OneLogger.Level.DEBUG));
+        Assert.assertFalse(
+            sut.isPrinted("ph.rye.logging.Foo", OneLogger.Level.ERROR));
+        Assert.assertFalse(sut.isPrinted("ph.rye.Baz", OneLogger.Level.INFO));
+        Assert.assertTrue(sut.isPrinted(null, OneLogger.Level.INFO));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.LoggerConfig.Builder#Builder(LoggerConfig)}.
+     */
+    @Test
+    public void testBuilder_copy() {
+        final LoggerConfig.Builder builder = new LoggerConfig.Builder();
+        builder.classLevel.put("ph.rye", OneLogger.Level.ERROR);
+        final LoggerConfig original = builder.build();
+
+        final LoggerConfig.Builder copy = new LoggerConfig.Builder(original);
+        copy.classLevel.put("ph.rye", OneLogger.Level.DEBUG);
+        copy.showMethod = false;
+        final LoggerConfig changed = copy.build();
+
+        Assert
+            .assertFalse(original.isPrinted("ph.rye.A", OneLogger.Level.INFO));
+        Assert.assertTrue(original.isShowMethod());
+        Assert.assertTrue(changed.isPrinted("ph.rye.A", OneLogger.Level.INFO));
+        Assert.assertFalse(changed.isShowMethod());
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class MessageFormatterTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.MessageFormatter#format(String, int, Object, Object, Object, Object[])}.
+     */
+    @Test
+    public void testFormat() {
+        Assert.assertEquals(
+            "a=1, b=2",
+            MessageFormatter.format("a={}, b={}", 2, 1, 2, null, null));
+
+        Assert.assertEquals(
+            "a=1, b={}",
+            MessageFormatter.format("a={}, b={}", 1, 1, null, null, null));
+
+        Assert.assertEquals(
+            "{} [1, 2] null",
+            MessageFormatter.format(
+                "\\{} {} {}",
+                2,
+                null,
+                null,
+                null,
+                new Object[] {
+                        new int[] {
+                                1,
+                                2 },
+                        null }));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.MessageFormatter#format(String, int, Object, Object, Object, Object[])}.
+     */
+    @Test
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testFormat_reentrant() {
+        final Object inner = new Object() {
+            @Override
+            public String toString() {
+                return MessageFormatter
+                    .format("inner {}", 1, "x", null, null, null);
+            }
+        };
+
+        Assert.assertEquals(
+            "outer-prefix inner x and tail",
+            MessageFormatter.format(
+                "outer-prefix {} and {}",
+                2,
+                inner,
+                "tail",
+                null,
+                null));
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.MessageFormatter#trailingThrowable(String, int, Object, Object, Object, Object[])}.
+     */
+    @Test
+    public void testTrailingThrowable() {
+        final Exception exception = new IllegalStateException();
+
+        Assert.assertSame(
+            exception,
+            MessageFormatter
+                .trailingThrowable("id {}", 2, 1, exception, null, null));
+
+        Assert.assertNull(
+            MessageFormatter
+                .trailingThrowable("{} {}", 2, 1, exception, null, null));
+    }
+
+}
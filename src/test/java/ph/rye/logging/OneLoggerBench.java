@@ -0,0 +1,95 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Timing of disabled and enabled log calls, with and without the method and
+ * line, behind the numbers of the lazy caller resolution. Not a unit test,
+ * run after test-compile with:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes ph.rye.logging.OneLoggerBench
+ * </pre>
+ *
+ * The "stack trace" row times Thread.getStackTrace(), what every call used
+ * to pay for its caller before the level check.
+ *
+ * @author royce
+ */
+public final class OneLoggerBench {
+
+
+    private static final int DISABLED_CALLS = 2_000_000;
+
+    private static final int ENABLED_CALLS = 200_000;
+
+    /** Keeps the JIT from dropping the timed work. */
+    private static volatile int sink;
+
+
+    private OneLoggerBench() {}
+
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    public static void main(final String[] args) {
+        final PrintStream out = System.out;
+        //OneLogger keeps the stdout it finds when loaded, lines go nowhere.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        final OneLogger logger = new OneLogger(null);
+        logger.setPrintToConsole(true);
+        logger.setDefaultLevel(OneLogger.Level.INFO);
+
+        out.printf(
+            "stack trace          %6d ns%n",
+            time(
+                DISABLED_CALLS,
+                () -> sink += Thread
+                    .currentThread()
+                    .getStackTrace()[1]
+                        .getLineNumber()));
+
+        for (final boolean showMethod : new boolean[] {
+                true,
+                false }) {
+            logger.setShowMethod(showMethod);
+            out.printf(
+                "disabled, method=%-5s %6d ns%n",
+                showMethod,
+                time(DISABLED_CALLS, () -> logger.debug("message")));
+            out.printf(
+                "enabled,  method=%-5s %6d ns%n",
+                showMethod,
+                time(ENABLED_CALLS, () -> logger.info("message")));
+        }
+    }
+
+    /** @return nanos per call, after a warm up run of as many calls. */
+    private static long time(final int calls, final Runnable body) {
+        for (int i = 0; i < calls; i++) {
+            body.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            body.run();
+        }
+        return (System.nanoTime() - start) / calls;
+    }
+
+}
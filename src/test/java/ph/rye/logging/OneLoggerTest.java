@@ -0,0 +1,111 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.PropertyResourceBundle;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author royce
+ */
+public class OneLoggerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test method for {@link ph.rye.logging.OneLogger#reload(Path)}.
+     */
+    @Test
+    public void testReload() throws IOException {
+        final Path file =
+                folder.getRoot().toPath().resolve("log4one.properties");
+        Files.write(
+            file,
+            Arrays.asList(
+                "log4one.defaultLevel=WARN",
+                "log4one.basePackage=ph.rye",
+                "log4one.logger.ph.rye.logging=DEBUG"),
+            StandardCharsets.ISO_8859_1);
+
+        final OneLogger sut = new OneLogger(null);
+        sut.setShowMethod(false);
+        sut.reload(file);
+
+        Assert.assertEquals(OneLogger.Level.WARN, sut.getDefaultLevel());
+        Assert.assertEquals(
+            "logging.OneLogger",
+            sut.getClassNameDisp(OneLogger.class.getName()));
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.OneLogger#reload(Path)}.
+     */
+    @Test
+    public void testReload_missingKey() throws IOException {
+        final Path file =
+                folder.getRoot().toPath().resolve("log4one.properties");
+        Files.write(
+            file,
+            Arrays.asList("log4one.defaultLevel=WARN"),
+            StandardCharsets.ISO_8859_1);
+
+        final OneLogger sut = new OneLogger(null);
+        sut.setDefaultLevel(OneLogger.Level.ERROR);
+        sut.reload(file);
+
+        Assert.assertEquals(OneLogger.Level.ERROR, sut.getDefaultLevel());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.OneLogger#configure(java.util.ResourceBundle,
+     * LoggerConfig.Builder)}.
+     */
+    @Test
+    @SuppressWarnings("PMD.MethodNamingConventions")
+    public void testConfigure_malformedValues() throws IOException {
+        final PropertyResourceBundle bundle = new PropertyResourceBundle(
+            new StringReader(
+                "log4one.defaultLevel=WARN\n"
+                        + "log4one.basePackage=ph.rye\n"
+                        + "log4one.throwable.maxDepth=deep\n"
+                        + "log4one.dedup=5s\n"
+                        + "log4one.limit.ph.rye=fast\n"));
+
+        final LoggerConfig.Builder builder = new LoggerConfig.Builder();
+        OneLogger.configure(bundle, builder);
+        final LoggerConfig config = builder.build();
+
+        Assert.assertEquals(OneLogger.Level.WARN, config.getDefaultLevel());
+        Assert.assertEquals(
+            ThrowableRenderer.UNLIMITED,
+            config.getThrowableDepth());
+        Assert.assertEquals(0, config.getDedupNanos());
+        Assert.assertTrue(config.getRateLimiters().isEmpty());
+    }
+
+}
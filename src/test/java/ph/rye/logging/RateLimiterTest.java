@@ -0,0 +1,58 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class RateLimiterTest {
+
+    /**
+     * Test method for {@link ph.rye.logging.RateLimiter#tryAcquire(long)}.
+     */
+    @Test
+    public void testTryAcquire() {
+        final RateLimiter sut = new RateLimiter("ph.rye", 10, 3);
+        final long now = System.nanoTime();
+
+        Assert.assertTrue(sut.tryAcquire(now));
+        Assert.assertTrue(sut.tryAcquire(now));
+        Assert.assertTrue(sut.tryAcquire(now));
+        Assert.assertFalse(sut.tryAcquire(now));
+
+        final long interval = 100_000_000L;
+        Assert.assertTrue(sut.tryAcquire(now + interval));
+        Assert.assertFalse(sut.tryAcquire(now + interval));
+        Assert.assertEquals(2, sut.sumSuppressed());
+        Assert.assertEquals(0, sut.sumSuppressed());
+    }
+
+    /**
+     * Test method for {@link ph.rye.logging.RateLimiter#parse(String, String)}.
+     */
+    @Test
+    public void testParse() {
+        final long now = System.nanoTime();
+        final RateLimiter sut = RateLimiter.parse("ph.rye", "2, 1");
+        Assert.assertEquals("ph.rye", sut.getCategory());
+        Assert.assertTrue(sut.tryAcquire(now));
+        Assert.assertFalse(sut.tryAcquire(now));
+    }
+
+}
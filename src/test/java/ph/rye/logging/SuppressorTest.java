@@ -0,0 +1,62 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class SuppressorTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.Suppressor#isDuplicate(String, int, Throwable, long, long)}.
+     */
+    @Test
+    public void testIsDuplicate() {
+        final LoggerConfig.Builder builder = new LoggerConfig.Builder();
+        builder.dedupMillis = 1000;
+        final LoggerConfig config = builder.build();
+        final Suppressor sut = new Suppressor(() -> config, summary -> {});
+
+        final long window = config.getDedupNanos();
+        final long now = System.nanoTime();
+        final Exception thrown = new IllegalStateException();
+
+        Assert.assertFalse(sut.isDuplicate("ph.rye.A", 7, thrown, window, now));
+        Assert.assertTrue(sut.isDuplicate("ph.rye.A", 7, thrown, window, now));
+        Assert.assertFalse(sut.isDuplicate("ph.rye.A", 8, thrown, window, now));
+        Assert.assertFalse(
+            sut.isDuplicate(
+                "ph.rye.A",
+                7,
+                new IllegalArgumentException(),
+                window,
+                now));
+        Assert.assertFalse(
+            sut.isDuplicate("ph.rye.A", 7, thrown, window, now + window));
+
+        Assert.assertEquals(
+            "Suppressed log events:\n"
+                    + "  1 duplicates of java.lang.IllegalStateException"
+                    + " at ph.rye.A:7",
+            sut.summarize(now + window));
+        Assert.assertNull(sut.summarize(now + window));
+    }
+
+}
@@ -0,0 +1,103 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class ThrowableRendererTest {
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.ThrowableRenderer#render(Throwable, int, StringBuilder)}.
+     */
+    @Test
+    public void testRender() {
+        final Exception thrown = newChain();
+
+        final StringWriter expected = new StringWriter();
+        thrown.printStackTrace(new PrintWriter(expected));
+
+        final StringBuilder actual = new StringBuilder();
+        ThrowableRenderer
+            .render(thrown, ThrowableRenderer.UNLIMITED, actual);
+
+        Assert.assertEquals(
+            expected.toString().replace(System.lineSeparator(), "\n"),
+            actual.toString());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.ThrowableRenderer#render(Throwable, int, StringBuilder)}.
+     */
+    @Test
+    public void testRender_maxDepth() {
+        final Exception thrown = new IllegalStateException("top");
+        thrown.setStackTrace(
+            new StackTraceElement[] {
+                    new StackTraceElement("A", "a", "A.java", 1),
+                    new StackTraceElement("B", "b", "B.java", 2),
+                    new StackTraceElement("C", "c", "C.java", 3) });
+
+        final StringBuilder actual = new StringBuilder();
+        ThrowableRenderer.render(thrown, 1, actual);
+
+        Assert.assertEquals(
+            "java.lang.IllegalStateException: top\n"
+                    + "\tat A.a(A.java:1)\n"
+                    + "\t... 2 more\n",
+            actual.toString());
+    }
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.ThrowableRenderer#render(Throwable, int, StringBuilder)}.
+     */
+    @Test
+    public void testRender_circular() {
+        final Exception first = new IllegalStateException("first");
+        final Exception second = new IllegalArgumentException("second", first);
+        first.initCause(second);
+        first.setStackTrace(new StackTraceElement[0]);
+        second.setStackTrace(new StackTraceElement[0]);
+
+        final StringBuilder actual = new StringBuilder();
+        ThrowableRenderer.render(first, ThrowableRenderer.UNLIMITED, actual);
+
+        Assert.assertEquals(
+            "java.lang.IllegalStateException: first\n"
+                    + "Caused by: java.lang.IllegalArgumentException: second\n"
+                    + "Caused by: [CIRCULAR REFERENCE: "
+                    + "java.lang.IllegalStateException: first]\n",
+            actual.toString());
+    }
+
+    private static Exception newChain() {
+        final Exception retval = new IllegalStateException(
+            "outer",
+            new IllegalArgumentException("inner"));
+        retval.addSuppressed(new UnsupportedOperationException("closing"));
+        return retval;
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ *   Copyright 2023 Royce Remulla
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package ph.rye.logging;
+
+import java.time.ZoneId;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author royce
+ */
+public class TimestampFormatTest {
+
+    /** 2023-09-05T13:41:07.009Z */
+    private static final long TIME = 1_693_921_267_009L;
+
+    /**
+     * Test method for
+     * {@link ph.rye.logging.TimestampFormat#formatTo(long, StringBuilder)}.
+     */
+    @Test
+    public void testFormatTo() {
+        final ZoneId manila = ZoneId.of("Asia/Manila");
+
+        Assert.assertEquals(
+            "21:41:07.009",
+            format(new TimestampFormat(TimestampFormat.Style.TIME, manila)));
+
+        Assert.assertEquals(
+            "2023-09-05T21:41:07.009+08:00",
+            format(
+                new TimestampFormat(TimestampFormat.Style.ISO8601, manila)));
+
+        Assert.assertEquals(
+            "2023-09-05T13:41:07.009Z",
+            format(
+                new TimestampFormat(
+                    TimestampFormat.Style.ISO8601,
+                    ZoneId.of("UTC"))));
+
+        Assert.assertEquals(
+            String.valueOf(TIME),
+            format(new TimestampFormat(TimestampFormat.Style.EPOCH, manila)));
+    }
+
+    private static String format(final TimestampFormat sut) {
+        final StringBuilder out = new StringBuilder();
+        sut.formatTo(TIME, out);
+        out.append('|');
+        sut.formatTo(TIME + 1000, out);
+        final String[] both = out.toString().split("\\|");
+        Assert.assertNotEquals(both[0], both[1]);
+        return both[0];
+    }
+
+}